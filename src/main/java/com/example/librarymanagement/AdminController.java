@@ -0,0 +1,145 @@
+package com.example.librarymanagement;
+
+import com.example.librarymanagement.bulk.BulkImportService;
+import com.example.librarymanagement.bulk.CatalogExportService;
+import com.example.librarymanagement.bulk.DataFormat;
+import com.example.librarymanagement.cache.BookResponseCache;
+import com.example.librarymanagement.cache.MemberIdCache;
+import com.example.librarymanagement.fines.FeeAccrualService;
+import com.example.librarymanagement.journal.JournalRecord;
+import com.example.librarymanagement.journal.MutationJournal;
+import com.example.librarymanagement.notification.NotificationDispatcher;
+import com.example.librarymanagement.dto.ApiResponse;
+import com.example.librarymanagement.dto.CacheStatsResponse;
+import com.example.librarymanagement.dto.FeeAccrualReport;
+import com.example.librarymanagement.dto.ImportReport;
+import com.example.librarymanagement.dto.JournalPage;
+import com.example.librarymanagement.dto.NotificationStatsResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+// Operational endpoints for administrators (cache sizing, bulk imports and exports, ...)
+@RestController
+@RequestMapping("/api/v1/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    private final BookResponseCache bookResponseCache;
+    private final MemberIdCache memberIdCache;
+    private final BulkImportService bulkImportService;
+    private final CatalogExportService catalogExportService;
+    private final FeeAccrualService feeAccrualService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final MutationJournal mutationJournal;
+
+    public AdminController(BookResponseCache bookResponseCache, MemberIdCache memberIdCache,
+                           BulkImportService bulkImportService, CatalogExportService catalogExportService,
+                           FeeAccrualService feeAccrualService, NotificationDispatcher notificationDispatcher,
+                           MutationJournal mutationJournal) {
+        this.bookResponseCache = bookResponseCache;
+        this.memberIdCache = memberIdCache;
+        this.bulkImportService = bulkImportService;
+        this.catalogExportService = catalogExportService;
+        this.feeAccrualService = feeAccrualService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.mutationJournal = mutationJournal;
+    }
+
+    @GetMapping("/cache/books")
+    public ResponseEntity<ApiResponse<CacheStatsResponse>> getBookCacheStats() {
+        CacheStatsResponse stats = bookResponseCache.stats();
+        return ResponseEntity.ok(ApiResponse.success("Book cache statistics", stats));
+    }
+
+    @GetMapping("/cache/members")
+    public ResponseEntity<ApiResponse<CacheStatsResponse>> getMemberCacheStats() {
+        CacheStatsResponse stats = memberIdCache.stats();
+        return ResponseEntity.ok(ApiResponse.success("Member lookup cache statistics", stats));
+    }
+
+    // Queue depth, batch sizes and commit-to-delivery latency of the notification pipeline
+    @GetMapping("/notifications/stats")
+    public ResponseEntity<ApiResponse<NotificationStatsResponse>> getNotificationStats() {
+        NotificationStatsResponse stats = notificationDispatcher.stats();
+        return ResponseEntity.ok(ApiResponse.success("Notification pipeline statistics", stats));
+    }
+
+    // Change capture: committed book and member mutations from an offset on. With waitSeconds the
+    // call long-polls until something newer than "from" is on disk.
+    @GetMapping("/journal")
+    public ResponseEntity<ApiResponse<JournalPage>> readJournal(
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") int waitSeconds) throws InterruptedException {
+        int max = Math.min(Math.max(limit, 1), 1000);
+        List<JournalRecord> records = waitSeconds > 0
+                ? mutationJournal.tail(from, max, Duration.ofSeconds(Math.min(waitSeconds, 30)))
+                : mutationJournal.read(from, max);
+        long next = records.isEmpty() ? Math.max(from, mutationJournal.startOffset())
+                : records.get(records.size() - 1).getNextOffset();
+        JournalPage page = new JournalPage(records, next, mutationJournal.durableOffset());
+        return ResponseEntity.ok(ApiResponse.success("Read " + records.size() + " journal records", page));
+    }
+
+    // The body is read as a stream, not bound to a request object, so uploads of any size are fine
+    @PostMapping(value = "/import/books", consumes = {DataFormat.CSV_MEDIA_TYPE, DataFormat.NDJSON_MEDIA_TYPE})
+    public ResponseEntity<ApiResponse<ImportReport>> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request) throws IOException {
+        ImportReport report = bulkImportService.importBooks(request.getInputStream(), DataFormat.fromContentType(contentType));
+        return ResponseEntity.ok(ApiResponse.success("Imported " + report.getImported() + " books", report));
+    }
+
+    @PostMapping(value = "/import/members", consumes = {DataFormat.CSV_MEDIA_TYPE, DataFormat.NDJSON_MEDIA_TYPE})
+    public ResponseEntity<ApiResponse<ImportReport>> importMembers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request) throws IOException {
+        ImportReport report = bulkImportService.importMembers(request.getInputStream(), DataFormat.fromContentType(contentType));
+        return ResponseEntity.ok(ApiResponse.success("Imported " + report.getImported() + " members", report));
+    }
+
+    // Runs the nightly late-fee accrual now, for today or for a missed day (a day already charged is skipped)
+    @PostMapping("/fines/accrue")
+    public ResponseEntity<ApiResponse<FeeAccrualReport>> accrueFines(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        FeeAccrualReport report = feeAccrualService.accrue(date != null ? date : LocalDate.now());
+        return ResponseEntity.ok(ApiResponse.success("Charged " + report.getLoansCharged() + " overdue loans", report));
+    }
+
+    // Whole-table downloads, written as rows come off the database cursor
+    @GetMapping("/export/books")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "CSV") DataFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportResponse("books", format, gzip,
+                outputStream -> catalogExportService.exportBooks(outputStream, format, gzip));
+    }
+
+    @GetMapping("/export/members")
+    public ResponseEntity<StreamingResponseBody> exportMembers(
+            @RequestParam(defaultValue = "CSV") DataFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportResponse("members", format, gzip,
+                outputStream -> catalogExportService.exportMembers(outputStream, format, gzip));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, DataFormat format, boolean gzip,
+                                                                 StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.librarymanagement;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")  // Second-level cache, see application.conf
 public class Book {
 
     @Id
@@ -40,6 +44,11 @@ public class Book {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic locking; also the ETag of the book
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Constructors
     public Book() {}
 
@@ -134,6 +143,8 @@ public class Book {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public long getVersion() { return version; }
+
     @Override
     public String toString() {
         return "Book{id=" + id + ", title='" + title + "', author='" + author +
@@ -0,0 +1,86 @@
+package com.example.librarymanagement;
+
+import java.time.LocalDateTime;
+
+// Published by LibraryService whenever a book changes, so in-memory structures
+// (search index, caches, ...) can follow the committed state of the catalog
+public class BookEvent {
+
+    public enum Type { ADDED, DELETED, BORROWED, RETURNED }
+
+    private final Type type;
+    private final Long bookId;
+    private final String title;
+    private final String author;
+    private final String isbn;
+    private final LocalDateTime createdAt;
+    // When the change was made: the return time of a RETURNED event
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+
+    // Loan details, set for BORROWED, RETURNED and for DELETED when the book was on loan
+    private Long memberId;
+    private String memberName;
+    private LocalDateTime borrowedDate;
+    private LocalDateTime dueDate;
+
+    public BookEvent(Type type, Long bookId, String title, String author, String isbn, LocalDateTime createdAt) {
+        this.type = type;
+        this.bookId = bookId;
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.createdAt = createdAt;
+    }
+
+    // Static factory methods
+    public static BookEvent added(Book book) {
+        return of(Type.ADDED, book);
+    }
+
+    public static BookEvent deleted(Book book) {
+        return withLoan(Type.DELETED, book);
+    }
+
+    public static BookEvent borrowed(Book book) {
+        return withLoan(Type.BORROWED, book);
+    }
+
+    // Must be created before book.returnBook() clears the loan
+    public static BookEvent returned(Book book) {
+        return withLoan(Type.RETURNED, book);
+    }
+
+    private static BookEvent of(Type type, Book book) {
+        return new BookEvent(type, book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getCreatedAt());
+    }
+
+    private static BookEvent withLoan(Type type, Book book) {
+        BookEvent event = of(type, book);
+        if (book.getBorrowedBy() != null) {
+            event.memberId = book.getBorrowedBy().getId();
+            event.memberName = book.getBorrowedBy().getName();
+        }
+        event.borrowedDate = book.getBorrowedDate();
+        event.dueDate = book.getDueDate();
+        return event;
+    }
+
+    // Getters
+    public Type getType() { return type; }
+    public Long getBookId() { return bookId; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public String getIsbn() { return isbn; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public Long getMemberId() { return memberId; }
+    public String getMemberName() { return memberName; }
+    public LocalDateTime getBorrowedDate() { return borrowedDate; }
+    public LocalDateTime getDueDate() { return dueDate; }
+
+    @Override
+    public String toString() {
+        return "BookEvent{type=" + type + ", bookId=" + bookId + ", title='" + title + "'" +
+                (memberId != null ? ", memberId=" + memberId : "") + "}";
+    }
+}
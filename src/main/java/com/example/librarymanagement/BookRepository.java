@@ -1,17 +1,40 @@
 package com.example.librarymanagement;
 
+import jakarta.persistence.QueryHint;
+import com.example.librarymanagement.dto.BookResponse;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+
+    // DTO projection for the list endpoints: the borrower's id and name come from the same row,
+    // and no entity is managed, so there is no lazy load per borrowed book and no dirty-checking
+    String BOOK_RESPONSE = "SELECT new com.example.librarymanagement.dto.BookResponse(" +
+            "b.id, b.title, b.author, b.isbn, b.isAvailable, m.id, m.name, " +
+            "b.borrowedDate, b.dueDate, b.createdAt, b.version) " +
+            "FROM Book b LEFT JOIN b.borrowedBy m";
+
+    // Single book with its borrower, for building a BookResponse in one query
+    @EntityGraph(attributePaths = "borrowedBy")
+    Optional<Book> findWithBorrowerById(Long id);
+
+    // All books of a batch borrow/return in one IN query, with their current borrowers
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.borrowedBy WHERE b.id IN :ids")
+    List<Book> findAllWithBorrowerByIdIn(@Param("ids") Collection<Long> ids);
 
     // Existing methods...
     List<Book> findByAuthor(String author);
@@ -22,6 +45,42 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     Page<Book> findByAuthor(String author, Pageable pageable);
     Page<Book> findByIsAvailable(boolean available, Pageable pageable);
 
+    @Query(BOOK_RESPONSE + " ORDER BY b.id")
+    List<BookResponse> findAllResponses();
+
+    @Query(BOOK_RESPONSE + " WHERE b.author = :author")
+    List<BookResponse> findResponsesByAuthor(@Param("author") String author);
+
+    @Query(BOOK_RESPONSE + " WHERE b.id IN :ids")
+    List<BookResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pagination for the book list: seek past the last (sort key, id), no COUNT(*)
+    @Query(BOOK_RESPONSE)
+    List<BookResponse> findWindow(Pageable pageable);
+
+    @Query(BOOK_RESPONSE + " WHERE b.id > :id ORDER BY b.id ASC")
+    List<BookResponse> findWindowAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query(BOOK_RESPONSE + " WHERE b.title > :title OR (b.title = :title AND b.id > :id) ORDER BY b.title ASC, b.id ASC")
+    List<BookResponse> findWindowAfterTitle(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    // Forward-only cursor over the whole catalog for streaming; must be consumed inside a transaction.
+    // Read-only entities skip dirty-checking snapshots, and the borrower is fetched in the same row.
+    // A full scan would only flush the second-level cache, so it bypasses it.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.borrowedBy ORDER BY b.id")
+    Stream<Book> streamAll();
+
+    // The same scan as projections, for rebuilding the in-memory indexes: nothing is managed,
+    // so only one fetch batch is held at a time. Must be consumed inside a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(BOOK_RESPONSE + " ORDER BY b.id")
+    Stream<BookResponse> streamAllResponses();
+
     // Relationship-based queries
     List<Book> findByBorrowedByIsNull();  // Available books
     List<Book> findByBorrowedByIsNotNull();  // Borrowed books
@@ -33,9 +92,7 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     List<Book> findByBorrowedDateBetween(LocalDateTime start, LocalDateTime end);
 
     // Custom JPQL queries
-    @Query("SELECT b FROM Book b WHERE b.title LIKE %:keyword% OR b.author LIKE %:keyword% OR b.isbn LIKE %:keyword%")
-    Page<Book> searchBooks(@Param("keyword") String keyword, Pageable pageable);
-
+    // (keyword search is served by search.BookSearchIndex instead of a LIKE scan)
     @Query("SELECT b FROM Book b WHERE b.borrowedBy.name = :memberName AND b.isAvailable = false")
     List<Book> findCurrentlyBorrowedBooksByMemberName(@Param("memberName") String memberName);
 
@@ -65,4 +122,9 @@ public interface BookRepository extends JpaRepository<Book, Long> {
 
     @Query("SELECT COUNT(b) FROM Book b WHERE b.dueDate < CURRENT_TIMESTAMP AND b.isAvailable = false")
     long countOverdueBooks();
+
+    // Every open loan as (book id, title, borrower name, due date), to load the due-date wheel
+    @Query("SELECT b.id, b.title, m.name, b.dueDate FROM Book b JOIN b.borrowedBy m " +
+           "WHERE b.isAvailable = false AND b.dueDate IS NOT NULL")
+    List<Object[]> findOpenLoanDueDates();
 }
\ No newline at end of file
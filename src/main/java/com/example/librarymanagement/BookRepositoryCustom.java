@@ -0,0 +1,14 @@
+package com.example.librarymanagement;
+
+import java.time.LocalDateTime;
+
+// Loan transitions as single guarded UPDATEs: the WHERE clause checks availability, so of two
+// concurrent borrows of the same copy exactly one changes a row, without locking anything first
+public interface BookRepositoryCustom {
+
+    // True if the book was available and is now borrowed by the member
+    boolean markBorrowed(Long bookId, Long memberId, LocalDateTime borrowedDate, LocalDateTime dueDate);
+
+    // True if the book was borrowed and is now available again
+    boolean markReturned(Long bookId);
+}
@@ -0,0 +1,49 @@
+package com.example.librarymanagement;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Plain JDBC on the transaction's connection. A JPQL or native bulk UPDATE would make Hibernate
+// drop the whole "books" cache region on every borrow; here only the changed book is evicted.
+class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private static final String MARK_BORROWED =
+            "UPDATE books SET is_available = FALSE, borrowed_by_member_id = ?, borrowed_date = ?, due_date = ?, " +
+            "updated_at = ?, version = version + 1 WHERE id = ? AND is_available = TRUE";
+
+    private static final String MARK_RETURNED =
+            "UPDATE books SET is_available = TRUE, borrowed_by_member_id = NULL, borrowed_date = NULL, due_date = NULL, " +
+            "updated_at = ?, version = version + 1 WHERE id = ? AND is_available = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    BookRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public boolean markBorrowed(Long bookId, Long memberId, LocalDateTime borrowedDate, LocalDateTime dueDate) {
+        int updated = jdbcTemplate.update(MARK_BORROWED, memberId, Timestamp.valueOf(borrowedDate),
+                Timestamp.valueOf(dueDate), Timestamp.valueOf(LocalDateTime.now()), bookId);
+        return changed(bookId, updated);
+    }
+
+    @Override
+    public boolean markReturned(Long bookId) {
+        int updated = jdbcTemplate.update(MARK_RETURNED, Timestamp.valueOf(LocalDateTime.now()), bookId);
+        return changed(bookId, updated);
+    }
+
+    private boolean changed(Long bookId, int updatedRows) {
+        if (updatedRows == 0) {
+            return false;
+        }
+        SecondLevelCacheEviction.evict(entityManagerFactory, Book.class, bookId);
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.librarymanagement;
+
+// Published after a bulk import wrote books straight through JDBC. There are no per-book events
+// for those rows, so the in-memory structures rebuild from the database instead.
+public class CatalogImportedEvent {
+
+    private final int importedBooks;
+
+    public CatalogImportedEvent(int importedBooks) {
+        this.importedBooks = importedBooks;
+    }
+
+    public int getImportedBooks() { return importedBooks; }
+
+    @Override
+    public String toString() {
+        return "CatalogImportedEvent{importedBooks=" + importedBooks + "}";
+    }
+}
@@ -1,14 +1,34 @@
 package com.example.librarymanagement;
 
 import com.example.librarymanagement.dto.ApiResponse;
+import com.example.librarymanagement.dto.AuthorCountResponse;
+import com.example.librarymanagement.dto.BatchLoanRequest;
+import com.example.librarymanagement.dto.BatchLoanResponse;
 import com.example.librarymanagement.dto.BookResponse;
 import com.example.librarymanagement.dto.BorrowBookRequest;
 import com.example.librarymanagement.dto.CreateBookRequest;
+import com.example.librarymanagement.dto.CursorSlice;
+import com.example.librarymanagement.dto.FacetedBooksResponse;
+import com.example.librarymanagement.dto.SuggestionResponse;
+import com.example.librarymanagement.dto.TrendingResponse;
 import com.example.librarymanagement.exception.BookNotFoundException;
+import com.example.librarymanagement.search.BookFacetIndex;
+import com.example.librarymanagement.search.BookSuggester;
+import com.example.librarymanagement.stats.AuthorStatistics;
+import com.example.librarymanagement.trending.TrendingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController  // Handles web requests and returns JSON
@@ -16,11 +36,24 @@ import java.util.List;
 @CrossOrigin(origins = "*") // Allow cross-origin requests
 public class LibraryController {
 
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_TOP_AUTHORS = 100;
+
     private final LibraryService libraryService;
+    private final BookSuggester bookSuggester;
+    private final AuthorStatistics authorStatistics;
+    private final TrendingService trendingService;
+    private final ObjectMapper objectMapper;
 
     // Constructor injection
-    public LibraryController(LibraryService libraryService) {
+    public LibraryController(LibraryService libraryService, BookSuggester bookSuggester,
+                             AuthorStatistics authorStatistics, TrendingService trendingService,
+                             ObjectMapper objectMapper) {
         this.libraryService = libraryService;
+        this.bookSuggester = bookSuggester;
+        this.authorStatistics = authorStatistics;
+        this.trendingService = trendingService;
+        this.objectMapper = objectMapper;
         System.out.println("🌐 LibraryController created!");
     }
 
@@ -30,16 +63,134 @@ public class LibraryController {
         return ResponseEntity.ok(ApiResponse.success("Library information retrieved", info));
     }
 
+    // Dashboard widget: read from the incrementally maintained ranking, no GROUP BY per refresh
+    @GetMapping("/authors/top")
+    public ResponseEntity<ApiResponse<List<AuthorCountResponse>>> getTopAuthors(
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<AuthorCountResponse> authors = authorStatistics.topAuthors(Math.max(1, Math.min(limit, MAX_TOP_AUTHORS)));
+        return ResponseEntity.ok(ApiResponse.success("Top authors", authors));
+    }
+
+    // Most borrowed books and most searched terms of the last hour, from in-memory counters
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<TrendingResponse>> getTrending(
+            @RequestParam(defaultValue = "10") int limit) {
+
+        TrendingResponse trending = trendingService.trending(Math.max(1, Math.min(limit, TrendingService.MAX_LIMIT)));
+        return ResponseEntity.ok(ApiResponse.success("Trending", trending));
+    }
+
     @GetMapping("/books")
-    public ResponseEntity<ApiResponse<List<BookResponse>>> getAllBooks() {
+    public ResponseEntity<ApiResponse<List<BookResponse>>> getAllBooks(WebRequest request) {
+        // Checked against the in-memory catalog version before any book is loaded
+        if (request.checkNotModified(libraryService.catalogETag())) {
+            return null;   // 304 and the ETag header are already set on the response
+        }
+
         List<BookResponse> books = libraryService.getAllBooks();
         return ResponseEntity.ok(ApiResponse.success("Books retrieved successfully", books));
     }
 
+    // One JSON document per line (NDJSON), written as rows come off the database cursor
+    @GetMapping(value = "/books/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBooks() {
+        StreamingResponseBody body = outputStream -> {
+            libraryService.streamAllBooks(book -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(book));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Typeahead: answered from memory, no database access per keystroke
+    @GetMapping("/books/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<SuggestionResponse> suggestions = bookSuggester.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+        return ResponseEntity.ok(ApiResponse.success("Suggestions", suggestions));
+    }
+
+    @GetMapping("/books/search")
+    public ResponseEntity<ApiResponse<Page<BookResponse>>> searchBooks(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+
+        Page<BookResponse> books = libraryService.searchBooks(keyword, page, size, fuzzy);
+        return ResponseEntity.ok(ApiResponse.success("Search results", books));
+    }
+
+    @GetMapping("/books/search/scroll")
+    public ResponseEntity<ApiResponse<CursorSlice<BookResponse>>> scrollSearch(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+
+        CursorSlice<BookResponse> books = libraryService.scrollSearch(keyword, cursor, size, fuzzy);
+        return ResponseEntity.ok(ApiResponse.success("Search results", books));
+    }
+
+    @GetMapping("/books/available")
+    public ResponseEntity<ApiResponse<Page<BookResponse>>> getAvailableBooks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Page<BookResponse> books = libraryService.findAvailableBooks(page, size);
+        return ResponseEntity.ok(ApiResponse.success("Available books", books));
+    }
+
+    // e.g. /books/filter?author=Craig Walls&author=Robert Martin&available=true&addedFrom=2024-01-01
+    @GetMapping("/books/filter")
+    public ResponseEntity<ApiResponse<FacetedBooksResponse>> filterBooks(
+            @RequestParam(required = false) List<String> author,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Boolean overdue,
+            @RequestParam(required = false) Boolean borrowedByActiveMember,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate addedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate addedTo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        BookFacetIndex.Criteria criteria = new BookFacetIndex.Criteria(
+                author, available, overdue, borrowedByActiveMember, addedFrom, addedTo);
+        FacetedBooksResponse books = libraryService.filterBooks(criteria, page, size);
+        return ResponseEntity.ok(ApiResponse.success("Filtered books", books));
+    }
+
+    @GetMapping("/books/scroll")
+    public ResponseEntity<ApiResponse<CursorSlice<BookResponse>>> scrollBooks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorSlice<BookResponse> books = libraryService.scrollBooks(cursor, size, sortBy, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success("Books retrieved successfully", books));
+    }
+
     @GetMapping("/books/{id}")
-    public ResponseEntity<ApiResponse<BookResponse>> getBookById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<BookResponse>> getBookById(@PathVariable Long id, WebRequest request) {
+        // Unchanged polls are never serialized. Only a lookup-cache hit is also free of queries: a miss
+        // loads the book (and warms the cache) before the ETag can be compared, since the ETag
+        // includes the overdue flag, which depends on the current time
         BookResponse book = libraryService.findBookById(id)
                 .orElseThrow(() -> new BookNotFoundException("Book with ID " + id + " not found"));
+        if (request.checkNotModified(bookETag(book))) {
+            return null;
+        }
         return ResponseEntity.ok(ApiResponse.success("Book retrieved successfully", book));
     }
 
@@ -83,4 +234,24 @@ public class LibraryController {
             throw new BookNotFoundException("Book with ID " + id + " not found");
         }
     }
-}
\ No newline at end of file
+
+    // Self-checkout: one request (and one transaction) for all the books a member scanned
+    @PostMapping("/books/borrow-batch")
+    public ResponseEntity<ApiResponse<BatchLoanResponse>> borrowBooks(@RequestBody @Valid BatchLoanRequest request) {
+        BatchLoanResponse result = libraryService.borrowBooks(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                result.getSucceeded() + " of " + result.getResults().size() + " books borrowed", result));
+    }
+
+    @PostMapping("/books/return-batch")
+    public ResponseEntity<ApiResponse<BatchLoanResponse>> returnBooks(@RequestBody @Valid BatchLoanRequest request) {
+        BatchLoanResponse result = libraryService.returnBooks(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                result.getSucceeded() + " of " + result.getResults().size() + " books returned", result));
+    }
+
+    // The overdue flag flips with time alone, so it is part of the validator next to the version
+    private static String bookETag(BookResponse book) {
+        return "book-" + book.getId() + "-" + book.getVersion() + (book.isOverdue() ? "-overdue" : "");
+    }
+}
@@ -1,31 +1,80 @@
 package com.example.librarymanagement;
 
+import com.example.librarymanagement.cache.BookResponseCache;
+import com.example.librarymanagement.cache.CatalogVersion;
+import com.example.librarymanagement.cache.MemberIdCache;
+import com.example.librarymanagement.cache.MemberLoanCounters;
+import com.example.librarymanagement.circulation.LoanHistory;
+import com.example.librarymanagement.dto.BatchLoanRequest;
+import com.example.librarymanagement.dto.BatchLoanResponse;
 import com.example.librarymanagement.dto.BookResponse;
 import com.example.librarymanagement.dto.BorrowBookRequest;
 import com.example.librarymanagement.dto.CreateBookRequest;
+import com.example.librarymanagement.dto.CursorSlice;
+import com.example.librarymanagement.dto.FacetedBooksResponse;
 import com.example.librarymanagement.exception.BookAlreadyAvailableException;
 import com.example.librarymanagement.exception.BookNotAvailableException;
 import com.example.librarymanagement.exception.BookNotFoundException;
+import com.example.librarymanagement.exception.InvalidPageRequestException;
+import com.example.librarymanagement.exception.MaxBooksExceededException;
+import com.example.librarymanagement.search.BookFacetIndex;
+import com.example.librarymanagement.search.BookSearchIndex;
+import com.example.librarymanagement.trending.TrendingService;
 import jakarta.annotation.PostConstruct;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service  // Business logic layer
 @Transactional // Database transactions managed automatically
 public class LibraryService {
 
+    private static final int MAX_SCROLL_SIZE = 1000;
+    // Offset pages cost more the deeper they go (search keeps a top-k heap of offset + size),
+    // so they stop here; the scroll endpoints read further at a constant cost
+    private static final int MAX_PAGE_DEPTH = 10_000;
+    // Matches the JDBC fetch size of BookRepository.streamAll
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
     // Spring will automatically inject these dependencies
     private final BookRepository bookRepository; // Now a JPA repository
     private final NotificationService notificationService;
     private final LibraryConfigProperties config;
     private final MemberRepository memberRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final BookResponseCache bookResponseCache;
+    private final CatalogVersion catalogVersion;
+    private final MemberLoanCounters memberLoanCounters;
+    private final MemberIdCache memberIdCache;
+    private final LoanHistory loanHistory;
+    private final TrendingService trendingService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Value("${library.name}")
     private String libraryName;
 
@@ -36,11 +85,23 @@ public class LibraryService {
     private double lateFeePerDay;
 
     // Constructor injection (recommended way)
-    public LibraryService(BookRepository bookRepository, NotificationService notificationService, LibraryConfigProperties config, MemberRepository memberRepository) {
+    public LibraryService(BookRepository bookRepository, NotificationService notificationService, LibraryConfigProperties config, MemberRepository memberRepository,
+                          BookSearchIndex bookSearchIndex, BookFacetIndex bookFacetIndex, BookResponseCache bookResponseCache,
+                          CatalogVersion catalogVersion, MemberLoanCounters memberLoanCounters, MemberIdCache memberIdCache,
+                          LoanHistory loanHistory, TrendingService trendingService, ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
         this.notificationService = notificationService;
         this.config = config;
         this.memberRepository = memberRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookFacetIndex = bookFacetIndex;
+        this.bookResponseCache = bookResponseCache;
+        this.catalogVersion = catalogVersion;
+        this.memberLoanCounters = memberLoanCounters;
+        this.memberIdCache = memberIdCache;
+        this.loanHistory = loanHistory;
+        this.trendingService = trendingService;
+        this.eventPublisher = eventPublisher;
         System.out.println("🏗️ LibraryService created with dependencies injected!");
     }
 
@@ -62,27 +123,55 @@ public class LibraryService {
         System.out.println("📊 Total books in database: " + bookRepository.count());
     }
 
+    // List endpoints read DTO projections: one query, borrower included, nothing to dirty-check
+    @Transactional(readOnly = true)
     public List<BookResponse> getAllBooks() {
         System.out.println("📋 Fetching all books...");
-        return bookRepository.findAll()
-                .stream()
-                .map(BookResponse::from)
-                .collect(Collectors.toList());
+        return bookRepository.findAllResponses();
+    }
+
+    // ETag of the getAllBooks result, computed from memory only
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String catalogETag() {
+        return catalogVersion.etag(bookFacetIndex.overdueCount());
+    }
 
+    // Constant-memory alternative to getAllBooks: rows come through a forward-only cursor and
+    // the persistence context is cleared every batch, so nothing accumulates on the heap
+    @Transactional(readOnly = true)
+    public void streamAllBooks(Consumer<BookResponse> consumer) {
+        try (Stream<Book> books = bookRepository.streamAll()) {
+            Iterator<Book> iterator = books.iterator();
+            int streamed = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(BookResponse.from(iterator.next()));
+                if (++streamed % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+            System.out.println("📤 Streamed " + streamed + " books");
+        }
     }
 
     public BookResponse addBook(CreateBookRequest request) {
         Book book = new Book(request.getTitle(), request.getAuthor());
         Book savedBook = bookRepository.save(book); // JPA automatically saves to database
+        eventPublisher.publishEvent(BookEvent.added(savedBook));
         System.out.println("✅ New book added to library: " + request.getTitle());
         return BookResponse.from(savedBook);
     }
 
+    // Read-through: popular books are served from memory, changes evict them after commit.
+    // SUPPORTS so a cache hit does not open a transaction (and borrow a connection) at all.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Optional<BookResponse> findBookById(Long id) {
-        return bookRepository.findById(id)
-                .map(BookResponse::from);
+        return bookResponseCache.get(id, bookId -> bookRepository.findWithBorrowerById(bookId)
+                .map(BookResponse::from));
     }
 
+    // Fast path: the availability check and the change are one guarded UPDATE, so a concurrent
+    // borrow of the same copy cannot slip in between a read and a write. The book is read only
+    // for its details (usually from the second-level cache) and is never flushed by Hibernate.
     @Transactional
     public boolean borrowBook(Long bookId, BorrowBookRequest request) {
         Book book = bookRepository.findById(bookId)
@@ -92,20 +181,25 @@ public class LibraryService {
             throw new BookNotAvailableException("Book '" + book.getTitle() + "' is not available for borrowing");
         }
 
-        // Find or create member
-        Member member = memberRepository.findByEmail(request.getMemberName() + "@library.com") // Assuming email format
-                .orElse(new Member(request.getMemberName(), request.getMemberName() + "@library.com", ""));
+        Member member = findOrCreateMember(request.getMemberName());
 
-        if (member.getId() == null) {
-            member = memberRepository.save(member);
+        // The in-memory counter turns most over-limit requests away without touching the database,
+        // the guarded counter UPDATE catches the rest (and bumps the member's version for its ETag)
+        if (memberLoanCounters.get(member.getId()) >= maxBooksPerUser
+                || !memberRepository.addLoans(member.getId(), 1, maxBooksPerUser)) {
+            throw new MaxBooksExceededException(member.getName() + " already has the maximum of " + maxBooksPerUser + " books");
         }
 
-        // Use the new business method
+        // From here on the book is only a value holder for the event and the notification
+        entityManager.detach(book);
         book.borrowBook(member, 14); // 14 days loan period
-        member.addBorrowedBook(book);
-
-        bookRepository.save(book);
-        memberRepository.save(member);
+        if (!bookRepository.markBorrowed(bookId, member.getId(), book.getBorrowedDate(), book.getDueDate())) {
+            // Someone else borrowed it since we read it; the counter increment rolls back with us
+            throw new BookNotAvailableException("Book '" + book.getTitle() + "' is not available for borrowing");
+        }
+        BookEvent borrowed = BookEvent.borrowed(book);
+        loanHistory.recordBorrowed(List.of(borrowed));
+        eventPublisher.publishEvent(borrowed);
 
         notificationService.sendBookBorrowedNotification(request.getMemberName(), book);
         System.out.println("📖 Book borrowed with relationship tracking!");
@@ -121,52 +215,285 @@ public class LibraryService {
             throw new BookAlreadyAvailableException("Book '" + book.getTitle() + "' was not borrowed");
         }
 
+        BookEvent returned = BookEvent.returned(book);
         Member member = book.getBorrowedBy();
+        entityManager.detach(book);
+        if (!bookRepository.markReturned(bookId)) {
+            // A concurrent return got there first
+            throw new BookAlreadyAvailableException("Book '" + book.getTitle() + "' was not borrowed");
+        }
         if (member != null) {
-            member.removeBorrowedBook(book);
-            memberRepository.save(member);
+            memberRepository.removeLoans(member.getId(), 1);
         }
-
-        book.returnBook();
-        bookRepository.save(book);
+        loanHistory.recordReturned(List.of(returned));
+        eventPublisher.publishEvent(returned);
 
         notificationService.sendBookReturnedNotification(request.getMemberName(), book);
         System.out.println("📚 Book returned with relationship tracking!");
         return true;
     }
 
+    // Self-checkout: every scanned book in one transaction. The books come from one IN query,
+    // the member is looked up once, and the changes are flushed as batched UPDATEs at commit.
+    // Books that cannot be borrowed are reported per item; the others are still checked out.
+    @Transactional
+    public BatchLoanResponse borrowBooks(BatchLoanRequest request) {
+        BatchLoanResponse response = new BatchLoanResponse(request.getMemberName());
+        Map<Long, Book> books = loadForBatch(request.getBookIds());
+        Member member = findOrCreateMember(request.getMemberName());
+        int room = maxBooksPerUser - memberLoanCounters.get(member.getId());
+        List<Book> borrowed = new ArrayList<>();
+
+        for (Long bookId : new LinkedHashSet<>(request.getBookIds())) {
+            Book book = books.get(bookId);
+            if (book == null) {
+                response.addFailure(bookId, "Book with ID " + bookId + " not found");
+            } else if (!book.isAvailable()) {
+                response.addFailure(bookId, "Book '" + book.getTitle() + "' is not available for borrowing");
+            } else if (borrowed.size() >= room) {
+                response.addFailure(bookId, "Loan limit of " + maxBooksPerUser + " books reached");
+            } else {
+                // Only the owning side: the member row is updated by addLoans below, not by a flush
+                book.borrowBook(member, 14); // 14 days loan period
+                borrowed.add(book);
+                response.addSuccess(bookId, book.getTitle(), book.getDueDate());
+            }
+        }
+
+        if (!borrowed.isEmpty()) {
+            // One guarded counter UPDATE for the whole batch; losing a race to another checkout
+            // of the same member rolls the batch back
+            if (!memberRepository.addLoans(member.getId(), borrowed.size(), maxBooksPerUser)) {
+                throw new MaxBooksExceededException(member.getName() + " cannot borrow " + borrowed.size() +
+                        " more books, the maximum is " + maxBooksPerUser);
+            }
+            List<BookEvent> events = borrowed.stream().map(BookEvent::borrowed).toList();
+            loanHistory.recordBorrowed(events);
+            events.forEach(eventPublisher::publishEvent);
+            notificationService.sendBooksBorrowedNotification(request.getMemberName(), borrowed);
+        }
+        System.out.println("📖 Batch borrow: " + response.getSucceeded() + " borrowed, " + response.getFailed() + " rejected");
+        return response;
+    }
+
+    @Transactional
+    public BatchLoanResponse returnBooks(BatchLoanRequest request) {
+        BatchLoanResponse response = new BatchLoanResponse(request.getMemberName());
+        Map<Long, Book> books = loadForBatch(request.getBookIds());
+        List<Book> returned = new ArrayList<>();
+        List<BookEvent> events = new ArrayList<>();
+        Map<Long, Integer> returnsPerMember = new HashMap<>();
+
+        for (Long bookId : new LinkedHashSet<>(request.getBookIds())) {
+            Book book = books.get(bookId);
+            if (book == null) {
+                response.addFailure(bookId, "Book with ID " + bookId + " not found");
+            } else if (book.isAvailable()) {
+                response.addFailure(bookId, "Book '" + book.getTitle() + "' was not borrowed");
+            } else {
+                BookEvent event = BookEvent.returned(book);
+                if (book.getBorrowedBy() != null) {
+                    returnsPerMember.merge(book.getBorrowedBy().getId(), 1, Integer::sum);
+                }
+                book.returnBook();
+                events.add(event);
+                returned.add(book);
+                response.addSuccess(bookId, book.getTitle(), null);
+            }
+        }
+
+        returnsPerMember.forEach(memberRepository::removeLoans);
+        loanHistory.recordReturned(events);
+        events.forEach(eventPublisher::publishEvent);
+        if (!returned.isEmpty()) {
+            notificationService.sendBooksReturnedNotification(request.getMemberName(), returned);
+        }
+        System.out.println("📚 Batch return: " + response.getSucceeded() + " returned, " + response.getFailed() + " rejected");
+        return response;
+    }
+
+    private Map<Long, Book> loadForBatch(List<Long> bookIds) {
+        return bookRepository.findAllWithBorrowerByIdIn(new LinkedHashSet<>(bookIds))
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+    }
+
+    // Known patrons cost a cache hit plus (usually) a second-level cache hit, no query on the email index.
+    // A miss is resolved in the caller's transaction; the id is cached once it commits.
+    private Member findOrCreateMember(String memberName) {
+        String email = memberName + "@library.com"; // Assuming email format
+        Long memberId = memberIdCache.getIfPresent(email);
+        if (memberId != null) {
+            Optional<Member> member = memberRepository.findById(memberId);
+            if (member.isPresent() && member.get().getEmail().equals(email)) {
+                return member.get();
+            }
+            // Removed since it was cached: resolve it again below
+            memberIdCache.invalidate(email);
+        }
+
+        // Concurrent misses for the same email are coalesced: whoever comes second waits until the
+        // first transaction has committed its insert, then finds the member below
+        memberIdCache.lockMissUntilCompletion(email);
+        Optional<Member> existing = memberRepository.findByEmail(email);
+        if (existing.isPresent()) {
+            memberIdCache.putAfterCommit(email, existing.get().getId());
+            return existing.get();
+        }
+        // MemberEvent.ADDED puts the new id in the cache after commit
+        Member created = memberRepository.save(new Member(memberName, email, ""));
+        eventPublisher.publishEvent(MemberEvent.added(created));
+        return created;
+    }
+
     public void deleteBook(Long id) {
-        if (!bookRepository.existsById(id)) { // JPA method
-            throw new BookNotFoundException("Book with ID " + id + " not found");
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new BookNotFoundException("Book with ID " + id + " not found"));
+        BookEvent deleted = BookEvent.deleted(book);
+        if (book.getBorrowedBy() != null) {
+            memberRepository.removeLoans(book.getBorrowedBy().getId(), 1);
         }
-        bookRepository.deleteById(id); // JPA method
+        bookRepository.delete(book); // JPA method
+        eventPublisher.publishEvent(deleted);
         System.out.println("🗑️ Book deleted successfully!");
     }
 
-    // New methods using custom repository queries
-    public Page<BookResponse> searchBooks(String keyword, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return bookRepository.searchBooks(keyword, pageable)
-                .map(BookResponse::from);
+    // Candidates and ranking come from the in-memory index; only the books on the page are loaded
+    @Transactional(readOnly = true)
+    public Page<BookResponse> searchBooks(String keyword, int page, int size, boolean fuzzy) {
+        if (page < 0 || size < 1) {
+            throw new InvalidPageRequestException("Page must be >= 0 and size >= 1");
+        }
+        int limit = Math.min(size, MAX_SCROLL_SIZE);
+        // A search counts once, not once per page
+        if (page == 0) {
+            trendingService.recordSearch(keyword);
+        }
+        BookSearchIndex.SearchResult result = bookSearchIndex.search(keyword, fuzzy, pageOffset(page, limit), limit);
+        List<BookResponse> books = loadInOrder(result.getBookIds());
+        return new PageImpl<>(books, PageRequest.of(page, limit), result.getTotalHits());
     }
 
+    // Keyset (cursor) variant of searchBooks, seeking past the (score, id) of the last hit
+    @Transactional(readOnly = true)
+    public CursorSlice<BookResponse> scrollSearch(String keyword, String cursor, int size, boolean fuzzy) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        // Fuzzy and exact searches rank differently, so their cursors are not interchangeable
+        String sortKey = fuzzy ? "fuzzyScore" : "score";
+        BookSearchIndex.ScoredBook after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            SeekCursor seek = SeekCursor.decode(cursor, sortKey, "desc");
+            after = new BookSearchIndex.ScoredBook(seek.getId(), seek.getDoubleValue());
+        } else {
+            trendingService.recordSearch(keyword);
+        }
+
+        BookSearchIndex.SearchResult result = bookSearchIndex.searchAfter(keyword, fuzzy, after, limit + 1);
+        List<BookSearchIndex.ScoredBook> hits = result.getHits();
+        boolean hasNext = hits.size() > limit;
+        List<BookSearchIndex.ScoredBook> page = hasNext ? hits.subList(0, limit) : hits;
+
+        String nextCursor = null;
+        if (hasNext) {
+            BookSearchIndex.ScoredBook last = page.get(page.size() - 1);
+            nextCursor = new SeekCursor(sortKey, "desc", last.getBookId(), Double.toString(last.getScore())).encode();
+        }
+        List<Long> bookIds = page.stream().map(BookSearchIndex.ScoredBook::getBookId).toList();
+        // The index knows the exact number of matches for free
+        return new CursorSlice<>(loadInOrder(bookIds), hasNext, nextCursor, result.getTotalHits());
+    }
+
+    // Any mix of filters plus facet counts, answered from the in-memory bitmaps; only the page is loaded
+    @Transactional(readOnly = true)
+    public FacetedBooksResponse filterBooks(BookFacetIndex.Criteria criteria, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new InvalidPageRequestException("Page must be >= 0 and size >= 1");
+        }
+        int limit = Math.min(size, MAX_SCROLL_SIZE);
+        BookFacetIndex.FacetResult result = bookFacetIndex.filter(criteria, pageOffset(page, limit), limit);
+        return new FacetedBooksResponse(loadInOrder(result.getBookIds()), page, limit, result.getTotalHits(),
+                result.getAuthorCounts(), result.getAvailableCount(), result.getBorrowedCount());
+    }
+
+    // Keyset (cursor) pagination over the whole catalog, ordered by id or title
+    @Transactional(readOnly = true)
+    public CursorSlice<BookResponse> scrollBooks(String cursor, int size, String sortBy, boolean includeTotal) {
+        if (!sortBy.equals("id") && !sortBy.equals("title")) {
+            throw new InvalidPageRequestException("Cannot scroll books by '" + sortBy + "', use id or title");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+
+        List<BookResponse> books;
+        if (cursor == null || cursor.isBlank()) {
+            Sort sort = Sort.by(sortBy).ascending().and(Sort.by("id").ascending());
+            books = bookRepository.findWindow(PageRequest.of(0, limit + 1, sort));
+        } else {
+            SeekCursor after = SeekCursor.decode(cursor, sortBy, "asc");
+            Pageable window = PageRequest.of(0, limit + 1);
+            books = sortBy.equals("title")
+                    ? bookRepository.findWindowAfterTitle(after.getValue(), after.getId(), window)
+                    : bookRepository.findWindowAfterId(after.getId(), window);
+        }
+
+        boolean hasNext = books.size() > limit;
+        List<BookResponse> content = hasNext ? books.subList(0, limit) : books;
+        String nextCursor = null;
+        if (hasNext) {
+            BookResponse last = content.get(content.size() - 1);
+            String value = sortBy.equals("title") ? last.getTitle() : "";
+            nextCursor = new SeekCursor(sortBy, "asc", last.getId(), value).encode();
+        }
+
+        // The search index holds every book, so its size is a free (approximate) total
+        Long total = includeTotal ? (long) bookSearchIndex.size() : null;
+        return new CursorSlice<>(content, hasNext, nextCursor, total);
+    }
+
+    // New methods using custom repository queries
+    @Transactional(readOnly = true)
     public List<BookResponse> findBooksByAuthor(String author) {
-        return bookRepository.findByAuthor(author)
-                .stream()
-                .map(BookResponse::from)
-                .collect(Collectors.toList());
+        return bookRepository.findResponsesByAuthor(author);
+    }
+
+    // Paged straight off the availability bitmap: no scan of is_available, only the page is loaded
+    @Transactional(readOnly = true)
+    public Page<BookResponse> findAvailableBooks(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new InvalidPageRequestException("Page must be >= 0 and size >= 1");
+        }
+        int limit = Math.min(size, MAX_SCROLL_SIZE);
+        List<BookResponse> books = loadInOrder(bookFacetIndex.availableBooks(pageOffset(page, limit), limit));
+        return new PageImpl<>(books, PageRequest.of(page, limit), bookFacetIndex.availableCount());
     }
 
-    public List<BookResponse> findAvailableBooks() {
-        return bookRepository.findByIsAvailable(true)
+    // Computed in long arithmetic, so a huge page number is rejected instead of overflowing
+    private static int pageOffset(int page, int limit) {
+        long offset = (long) page * limit;
+        if (offset > MAX_PAGE_DEPTH) {
+            throw new InvalidPageRequestException("Pages end at result " + MAX_PAGE_DEPTH +
+                    ", use the scroll endpoint to read further");
+        }
+        return (int) offset;
+    }
+
+    // An IN query does not keep the order of the ids, so restore the ranking afterwards
+    private List<BookResponse> loadInOrder(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookResponse> booksById = bookRepository.findResponsesByIdIn(bookIds)
                 .stream()
-                .map(BookResponse::from)
+                .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+        return bookIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     public String getLibraryInfo() {
-        long totalBooks = bookRepository.count();
-        long availableBooks = bookRepository.countByIsAvailable(true);
+        // Both counts come from the facet index, which follows every committed change
+        long totalBooks = bookFacetIndex.size();
+        long availableBooks = bookFacetIndex.availableCount();
 
         return String.format("Welcome to %s! We have %d books total, %d available. " +
                         "You can borrow up to %d books. Late fee: $%.2f per day.",
@@ -1,12 +1,18 @@
 package com.example.librarymanagement;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "members")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "members")  // Second-level cache, see application.conf
+@BatchSize(size = 50)  // Borrowers of a list of books are loaded 50 at a time, not one by one
 public class Member {
 
     @Id
@@ -30,14 +36,25 @@ public class Member {
 
     // One-to-Many relationship: One member can borrow many books
     @OneToMany(mappedBy = "borrowedBy", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)  // Member lists initialize the loans of 50 members per query
     private List<Book> borrowedBooks = new ArrayList<>();
 
+    // Denormalized size of borrowedBooks, changed only by the guarded loan statements in
+    // MemberRepositoryCustomImpl, so the loan limit is checked without loading the collection
+    @Column(name = "active_loan_count", nullable = false)
+    private int activeLoanCount;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic locking; also the ETag of the member
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Constructors
     public Member() {}
 
@@ -67,14 +84,17 @@ public class Member {
     }
 
     // Helper methods for relationship management
+    // Both touch updatedAt so the member's version (and ETag) moves with its list of loans
     public void addBorrowedBook(Book book) {
         borrowedBooks.add(book);
         book.setBorrowedBy(this);
+        this.updatedAt = LocalDateTime.now();
     }
 
     public void removeBorrowedBook(Book book) {
         borrowedBooks.remove(book);
         book.setBorrowedBy(null);
+        this.updatedAt = LocalDateTime.now();
     }
 
     // Getters and Setters
@@ -111,15 +131,19 @@ public class Member {
     public List<Book> getBorrowedBooks() { return borrowedBooks; }
     public void setBorrowedBooks(List<Book> borrowedBooks) { this.borrowedBooks = borrowedBooks; }
 
+    public int getActiveLoanCount() { return activeLoanCount; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public long getVersion() { return version; }
+
     @Override
     public String toString() {
         return "Member{id=" + id + ", name='" + name + "', email='" + email +
-                "', active=" + isActive + ", borrowedBooks=" + borrowedBooks.size() + "}";
+                "', active=" + isActive + ", activeLoans=" + activeLoanCount + "}";
     }
 }
\ No newline at end of file
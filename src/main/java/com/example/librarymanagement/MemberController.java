@@ -7,8 +7,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/members")
@@ -32,8 +34,26 @@ public class MemberController {
         return ResponseEntity.ok(ApiResponse.success("Members retrieved successfully", members));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorSlice<MemberResponse>>> scrollMembers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorSlice<MemberResponse> members = memberService.scrollMembers(cursor, size, sortBy, sortDir, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success("Members retrieved successfully", members));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<MemberResponse>> getMemberById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<MemberResponse>> getMemberById(@PathVariable Long id, WebRequest request) {
+        // One narrow query decides; an unchanged member is never loaded or serialized
+        Optional<String> etag = memberService.findMemberETag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;   // 304 and the ETag header are already set on the response
+        }
+
         MemberResponse member = memberService.findMemberById(id)
                 .orElseThrow(() -> new MemberNotFoundException("Member with ID " + id + " not found"));
         return ResponseEntity.ok(ApiResponse.success("Member retrieved successfully", member));
@@ -77,6 +97,12 @@ public class MemberController {
         return ResponseEntity.ok(ApiResponse.success("Member's borrowed books", books));
     }
 
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<ApiResponse<MemberBalanceResponse>> getMemberBalance(@PathVariable Long id) {
+        MemberBalanceResponse balance = memberService.getMemberBalance(id);
+        return ResponseEntity.ok(ApiResponse.success("Outstanding fines retrieved", balance));
+    }
+
     @PutMapping("/{id}/deactivate")
     public ResponseEntity<ApiResponse<String>> deactivateMember(@PathVariable Long id) {
         memberService.deactivateMember(id);
@@ -0,0 +1,40 @@
+package com.example.librarymanagement;
+
+// Published when a member is created or deactivated, for the in-memory structures that
+// need to know about members (facet index, ...)
+public class MemberEvent {
+
+    public enum Type { ADDED, DEACTIVATED }
+
+    private final Type type;
+    private final Long memberId;
+    private final String name;
+    private final String email;
+
+    public MemberEvent(Type type, Long memberId, String name, String email) {
+        this.type = type;
+        this.memberId = memberId;
+        this.name = name;
+        this.email = email;
+    }
+
+    // Static factory methods
+    public static MemberEvent added(Member member) {
+        return new MemberEvent(Type.ADDED, member.getId(), member.getName(), member.getEmail());
+    }
+
+    public static MemberEvent deactivated(Member member) {
+        return new MemberEvent(Type.DEACTIVATED, member.getId(), member.getName(), member.getEmail());
+    }
+
+    // Getters
+    public Type getType() { return type; }
+    public Long getMemberId() { return memberId; }
+    public String getName() { return name; }
+    public String getEmail() { return email; }
+
+    @Override
+    public String toString() {
+        return "MemberEvent{type=" + type + ", memberId=" + memberId + ", email='" + email + "'}";
+    }
+}
@@ -1,22 +1,37 @@
 package com.example.librarymanagement;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MemberRepository extends JpaRepository<Member, Long> {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
 
     // Query method naming convention
+    // Hot path of every borrow: answered from the query cache until the members table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Member> findByEmail(String email);
 
+    // Explicit fetch plans: the member and its loans in one query instead of a lazy load while mapping
+    @EntityGraph(attributePaths = "borrowedBooks")
+    Optional<Member> findWithBorrowedBooksById(Long id);
+
+    @EntityGraph(attributePaths = "borrowedBooks")
+    Optional<Member> findWithBorrowedBooksByEmail(String email);
+
     List<Member> findByNameContainingIgnoreCase(String name);
 
     List<Member> findByIsActive(boolean isActive);
@@ -24,9 +39,21 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Page<Member> findByIsActive(boolean isActive, Pageable pageable);
 
     // Custom JPQL queries
-    @Query("SELECT m FROM Member m WHERE SIZE(m.borrowedBooks) > :count")
+    // Reads the loan counter, not SIZE(m.borrowedBooks), so no join or subquery per member
+    @Query("SELECT m FROM Member m WHERE m.activeLoanCount > :count")
     List<Member> findMembersWithMoreThanXBorrowedBooks(@Param("count") int count);
 
+    @Query("SELECT m.id, m.activeLoanCount FROM Member m WHERE m.activeLoanCount > 0")
+    List<Object[]> findActiveLoanCounts();
+
+    // Repairs counters that drifted from the books table (rows changed outside the service,
+    // or a database upgraded by ddl-auto without the V4 backfill); returns the members fixed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Member m SET m.activeLoanCount = (SELECT COUNT(b) FROM Book b WHERE b.borrowedBy = m) " +
+            "WHERE m.activeLoanCount <> (SELECT COUNT(b) FROM Book b WHERE b.borrowedBy = m)")
+    int reconcileActiveLoanCounts();
+
     @Query("SELECT m FROM Member m WHERE m.membershipDate BETWEEN :startDate AND :endDate")
     List<Member> findMembersByMembershipDateRange(@Param("startDate") LocalDateTime startDate,
                                                   @Param("endDate") LocalDateTime endDate);
@@ -47,9 +74,45 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
         """, nativeQuery = true)
     List<Member> findMembersWithOverdueBooks();
 
+    // Keyset pagination: seek past the last (sort key, id) instead of OFFSET, and never COUNT(*)
+    @Query("SELECT m FROM Member m")
+    List<Member> findWindow(Pageable pageable);
+
+    @Query("SELECT m FROM Member m WHERE m.name > :name OR (m.name = :name AND m.id > :id) ORDER BY m.name ASC, m.id ASC")
+    List<Member> findWindowAfterNameAsc(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM Member m WHERE m.name < :name OR (m.name = :name AND m.id < :id) ORDER BY m.name DESC, m.id DESC")
+    List<Member> findWindowAfterNameDesc(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM Member m WHERE m.email > :email OR (m.email = :email AND m.id > :id) ORDER BY m.email ASC, m.id ASC")
+    List<Member> findWindowAfterEmailAsc(@Param("email") String email, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM Member m WHERE m.email < :email OR (m.email = :email AND m.id < :id) ORDER BY m.email DESC, m.id DESC")
+    List<Member> findWindowAfterEmailDesc(@Param("email") String email, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM Member m WHERE m.membershipDate > :date OR (m.membershipDate = :date AND m.id > :id) " +
+            "ORDER BY m.membershipDate ASC, m.id ASC")
+    List<Member> findWindowAfterMembershipDateAsc(@Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM Member m WHERE m.membershipDate < :date OR (m.membershipDate = :date AND m.id < :id) " +
+            "ORDER BY m.membershipDate DESC, m.id DESC")
+    List<Member> findWindowAfterMembershipDateDesc(@Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM Member m WHERE m.id > :id ORDER BY m.id ASC")
+    List<Member> findWindowAfterIdAsc(@Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM Member m WHERE m.id < :id ORDER BY m.id DESC")
+    List<Member> findWindowAfterIdDesc(@Param("id") Long id, Pageable pageable);
+
     // Count queries
     long countByIsActive(boolean isActive);
 
+    // ETag inputs without loading the member or its books: its version, plus how many of its loans
+    // are overdue (that flag in the response changes with time alone). Empty if there is no such member.
+    @Query("SELECT m.version, COUNT(b) FROM Member m LEFT JOIN m.borrowedBooks b ON b.dueDate < :now " +
+            "WHERE m.id = :id GROUP BY m.version")
+    List<Object[]> findVersionAndOverdueCount(@Param("id") Long id, @Param("now") LocalDateTime now);
+
     @Query("SELECT COUNT(DISTINCT m) FROM Member m JOIN m.borrowedBooks b WHERE b.isAvailable = false")
     long countMembersWithBorrowedBooks();
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.librarymanagement;
+
+// Loan counter changes as single guarded UPDATEs (see Member.activeLoanCount). Both also bump
+// the member's version, since its loans, and so its ETag, change with them.
+public interface MemberRepositoryCustom {
+
+    // True if the member had room for count more loans under maxLoans and now has them
+    boolean addLoans(Long memberId, int count, int maxLoans);
+
+    void removeLoans(Long memberId, int count);
+}
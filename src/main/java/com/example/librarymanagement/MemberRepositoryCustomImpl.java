@@ -0,0 +1,45 @@
+package com.example.librarymanagement;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Same approach as BookRepositoryCustomImpl: JDBC on the transaction's connection, evicting
+// only the changed member from the second-level cache
+class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
+
+    // The limit is part of the WHERE clause, so two concurrent checkouts cannot both take the last slot
+    private static final String ADD_LOANS =
+            "UPDATE members SET active_loan_count = active_loan_count + ?, updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND active_loan_count + ? <= ?";
+
+    private static final String REMOVE_LOANS =
+            "UPDATE members SET active_loan_count = GREATEST(active_loan_count - ?, 0), updated_at = ?, " +
+            "version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    MemberRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public boolean addLoans(Long memberId, int count, int maxLoans) {
+        int updated = jdbcTemplate.update(ADD_LOANS, count, Timestamp.valueOf(LocalDateTime.now()), memberId, count, maxLoans);
+        if (updated == 0) {
+            return false;
+        }
+        SecondLevelCacheEviction.evict(entityManagerFactory, Member.class, memberId);
+        return true;
+    }
+
+    @Override
+    public void removeLoans(Long memberId, int count) {
+        jdbcTemplate.update(REMOVE_LOANS, count, Timestamp.valueOf(LocalDateTime.now()), memberId);
+        SecondLevelCacheEviction.evict(entityManagerFactory, Member.class, memberId);
+    }
+}
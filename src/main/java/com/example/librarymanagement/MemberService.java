@@ -2,6 +2,8 @@ package com.example.librarymanagement;
 
 import com.example.librarymanagement.dto.*;
 import com.example.librarymanagement.exception.*;
+import com.example.librarymanagement.fines.MemberBalanceRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -9,22 +11,39 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class MemberService {
 
+    private static final Set<String> SCROLL_SORT_KEYS = Set.of("name", "email", "membershipDate", "id");
+    private static final int MAX_SCROLL_SIZE = 1000;
+    private static final long MEMBER_COUNT_TTL_MILLIS = 60_000;
+
     private final MemberRepository memberRepository;
     private final BookRepository bookRepository;
+    private final MemberBalanceRepository memberBalanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Approximate total for cursor pages: refreshed at most once a minute instead of COUNT(*) per page
+    private volatile long cachedMemberCount = -1;
+    private volatile long cachedMemberCountAt;
 
-    public MemberService(MemberRepository memberRepository, BookRepository bookRepository) {
+    public MemberService(MemberRepository memberRepository, BookRepository bookRepository,
+                         MemberBalanceRepository memberBalanceRepository, ApplicationEventPublisher eventPublisher) {
         this.memberRepository = memberRepository;
         this.bookRepository = bookRepository;
+        this.memberBalanceRepository = memberBalanceRepository;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public Page<MemberResponse> getAllMembers(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() :
@@ -35,6 +54,73 @@ public class MemberService {
                 .map(MemberResponse::fromWithoutBooks);
     }
 
+    // Keyset (cursor) pagination: every page costs the same as the first one
+    @Transactional(readOnly = true)
+    public CursorSlice<MemberResponse> scrollMembers(String cursor, int size, String sortBy, String sortDir,
+                                                     boolean includeTotal) {
+        if (!SCROLL_SORT_KEYS.contains(sortBy)) {
+            throw new InvalidPageRequestException("Cannot scroll members by '" + sortBy + "', use one of " + SCROLL_SORT_KEYS);
+        }
+        String direction = sortDir.equalsIgnoreCase("desc") ? "desc" : "asc";
+        boolean ascending = direction.equals("asc");
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Pageable window = PageRequest.of(0, limit + 1); // one extra row tells us whether there is a next page
+
+        List<Member> members;
+        if (cursor == null || cursor.isBlank()) {
+            Sort.Direction sortDirection = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+            Sort sort = Sort.by(sortDirection, sortBy).and(Sort.by(sortDirection, "id"));
+            members = memberRepository.findWindow(PageRequest.of(0, limit + 1, sort));
+        } else {
+            SeekCursor after = SeekCursor.decode(cursor, sortBy, direction);
+            members = switch (sortBy) {
+                case "name" -> ascending
+                        ? memberRepository.findWindowAfterNameAsc(after.getValue(), after.getId(), window)
+                        : memberRepository.findWindowAfterNameDesc(after.getValue(), after.getId(), window);
+                case "email" -> ascending
+                        ? memberRepository.findWindowAfterEmailAsc(after.getValue(), after.getId(), window)
+                        : memberRepository.findWindowAfterEmailDesc(after.getValue(), after.getId(), window);
+                case "membershipDate" -> ascending
+                        ? memberRepository.findWindowAfterMembershipDateAsc(after.getDateTimeValue(), after.getId(), window)
+                        : memberRepository.findWindowAfterMembershipDateDesc(after.getDateTimeValue(), after.getId(), window);
+                default -> ascending
+                        ? memberRepository.findWindowAfterIdAsc(after.getId(), window)
+                        : memberRepository.findWindowAfterIdDesc(after.getId(), window);
+            };
+        }
+
+        boolean hasNext = members.size() > limit;
+        List<Member> content = hasNext ? members.subList(0, limit) : members;
+        String nextCursor = null;
+        if (hasNext) {
+            Member last = content.get(content.size() - 1);
+            nextCursor = new SeekCursor(sortBy, direction, last.getId(), sortValue(last, sortBy)).encode();
+        }
+
+        List<MemberResponse> responses = content.stream()
+                .map(MemberResponse::fromWithoutBooks)
+                .collect(Collectors.toList());
+        return new CursorSlice<>(responses, hasNext, nextCursor, includeTotal ? approximateMemberCount() : null);
+    }
+
+    private static String sortValue(Member member, String sortBy) {
+        return switch (sortBy) {
+            case "name" -> member.getName();
+            case "email" -> member.getEmail();
+            case "membershipDate" -> member.getMembershipDate().toString();
+            default -> "";
+        };
+    }
+
+    private long approximateMemberCount() {
+        long now = System.currentTimeMillis();
+        if (cachedMemberCount < 0 || now - cachedMemberCountAt > MEMBER_COUNT_TTL_MILLIS) {
+            cachedMemberCount = memberRepository.count();
+            cachedMemberCountAt = now;
+        }
+        return cachedMemberCount;
+    }
+
     public MemberResponse addMember(CreateMemberRequest request) {
         // Check if email already exists
         if (memberRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -43,20 +129,32 @@ public class MemberService {
 
         Member member = new Member(request.getName(), request.getEmail(), request.getPhone());
         Member savedMember = memberRepository.save(member);
+        eventPublisher.publishEvent(MemberEvent.added(savedMember));
         System.out.println("✅ New member added: " + request.getName());
         return MemberResponse.from(savedMember);
     }
 
+    @Transactional(readOnly = true)
     public Optional<MemberResponse> findMemberById(Long id) {
-        return memberRepository.findById(id)
+        return memberRepository.findWithBorrowedBooksById(id)
                 .map(MemberResponse::from);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<String> findMemberETag(Long id) {
+        return memberRepository.findVersionAndOverdueCount(id, LocalDateTime.now())
+                .stream()
+                .findFirst()
+                .map(row -> "member-" + id + "-" + row[0] + "-" + row[1]);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<MemberResponse> findMemberByEmail(String email) {
-        return memberRepository.findByEmail(email)
+        return memberRepository.findWithBorrowedBooksByEmail(email)
                 .map(MemberResponse::from);
     }
 
+    @Transactional(readOnly = true)
     public List<MemberResponse> searchMembers(String name) {
         return memberRepository.findByNameContainingIgnoreCase(name)
                 .stream()
@@ -64,6 +162,7 @@ public class MemberService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<MemberResponse> getActiveMembers() {
         return memberRepository.findByIsActive(true)
                 .stream()
@@ -75,16 +174,18 @@ public class MemberService {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new MemberNotFoundException("Member with ID " + id + " not found"));
 
-        // Check if member has borrowed books
-        if (!member.getBorrowedBooks().isEmpty()) {
+        // Check if member has borrowed books (the counter, so the loans are not loaded)
+        if (member.getActiveLoanCount() > 0) {
             throw new MemberHasBorrowedBooksException("Cannot deactivate member with borrowed books");
         }
 
         member.setActive(false);
         memberRepository.save(member);
+        eventPublisher.publishEvent(MemberEvent.deactivated(member));
         System.out.println("🔒 Member deactivated: " + member.getName());
     }
 
+    @Transactional(readOnly = true)
     public List<MemberResponse> getMembersWithOverdueBooks() {
         return memberRepository.findMembersWithOverdueBooks()
                 .stream()
@@ -92,8 +193,9 @@ public class MemberService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BookResponse> getMemberBorrowedBooks(Long memberId) {
-        Member member = memberRepository.findById(memberId)
+        Member member = memberRepository.findWithBorrowedBooksById(memberId)
                 .orElseThrow(() -> new MemberNotFoundException("Member with ID " + memberId + " not found"));
 
         return member.getBorrowedBooks()
@@ -102,6 +204,19 @@ public class MemberService {
                 .collect(Collectors.toList());
     }
 
+    // The running total kept by the fee accrual job: one primary-key read, no SUM over the ledger
+    @Transactional(readOnly = true)
+    public MemberBalanceResponse getMemberBalance(Long memberId) {
+        return memberBalanceRepository.findById(memberId)
+                .map(balance -> new MemberBalanceResponse(memberId, balance.getBalance(), balance.getUpdatedAt()))
+                .orElseGet(() -> {
+                    if (!memberRepository.existsById(memberId)) {
+                        throw new MemberNotFoundException("Member with ID " + memberId + " not found");
+                    }
+                    return new MemberBalanceResponse(memberId, BigDecimal.ZERO, null);  // never fined
+                });
+    }
+
     public long getTotalMembersCount() {
         return memberRepository.count();
     }
@@ -1,28 +1,82 @@
 package com.example.librarymanagement;
 
+import com.example.librarymanagement.notification.NotificationQueuedEvent;
+import com.example.librarymanagement.notification.OutboxMessage;
+import com.example.librarymanagement.notification.OutboxRepository;
 import jakarta.annotation.PostConstruct;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Notifications are not sent from here: each one is written to the outbox in the caller's
+// transaction and delivered after commit by notification.NotificationDispatcher, so a slow
+// email or SMS gateway never holds the locks and the connection of a borrow or return
 @Component // Generic Spring component
 @Scope("singleton") // Default scope - one instance for entire application
 public class NotificationService {
 
+    private final OutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LibraryConfigProperties config;
+
+    public NotificationService(OutboxRepository outboxRepository, ApplicationEventPublisher eventPublisher,
+                               LibraryConfigProperties config) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.config = config;
+    }
+
     @PostConstruct
     public void init() {
-        System.out.println("📧 NotificationService initialized!");
+        System.out.println("📧 NotificationService initialized! Notifications " +
+                (config.isEnableNotifications() ? "enabled" : "disabled"));
     }
 
     public void sendBookBorrowedNotification(String memberName, Book book) {
-        System.out.println("📧 NOTIFICATION: " + memberName + " borrowed '" + book.getTitle() + "'");
+        enqueue(memberName, "borrowed '" + book.getTitle() + "'");
     }
 
     public void sendBookReturnedNotification(String memberName, Book book) {
-        System.out.println("📧 NOTIFICATION: " + memberName + " returned '" + book.getTitle() + "'");
+        enqueue(memberName, "returned '" + book.getTitle() + "'");
+    }
+
+    // One message for a whole batch checkout or return instead of one per book
+    public void sendBooksBorrowedNotification(String memberName, List<Book> books) {
+        enqueue(memberName, "borrowed " + books.size() + " books: " + titles(books));
+    }
+
+    public void sendBooksReturnedNotification(String memberName, List<Book> books) {
+        enqueue(memberName, "returned " + books.size() + " books: " + titles(books));
     }
 
     public void sendOverdueNotification(String memberName, Book book) {
-        System.out.println("⚠️ OVERDUE NOTICE: " + memberName + " - '" + book.getTitle() + "' is overdue!");
+        sendOverdueNotification(memberName, book.getTitle());
     }
 
+    public void sendOverdueNotification(String memberName, String title) {
+        enqueue(memberName, "⚠️ OVERDUE NOTICE: '" + title + "' is overdue!");
+    }
+
+    public void sendDueSoonNotification(String memberName, String title, LocalDateTime dueDate) {
+        enqueue(memberName, "⏰ REMINDER: '" + title + "' is due on " + dueDate.toLocalDate());
+    }
+
+    // Joins the caller's transaction if there is one, so the notification commits or rolls back with it
+    private void enqueue(String memberName, String message) {
+        if (!config.isEnableNotifications()) {
+            return;
+        }
+        OutboxMessage saved = outboxRepository.save(new OutboxMessage(memberName, message));
+        long createdAt = saved.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        eventPublisher.publishEvent(new NotificationQueuedEvent(saved.getId(), memberName, message, createdAt));
+    }
+
+    private static String titles(List<Book> books) {
+        return books.stream().map(book -> "'" + book.getTitle() + "'").collect(Collectors.joining(", "));
+    }
 }
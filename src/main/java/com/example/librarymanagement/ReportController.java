@@ -0,0 +1,40 @@
+package com.example.librarymanagement;
+
+import com.example.librarymanagement.circulation.CirculationReportService;
+import com.example.librarymanagement.circulation.CirculationRollups;
+import com.example.librarymanagement.dto.ApiResponse;
+import com.example.librarymanagement.dto.CirculationStatResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Historical circulation reports, answered from the pre-aggregated rollups
+@RestController
+@RequestMapping("/api/v1/reports")
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private final CirculationReportService circulationReportService;
+
+    public ReportController(CirculationReportService circulationReportService) {
+        this.circulationReportService = circulationReportService;
+    }
+
+    // e.g. most borrowed books this quarter (the default range), or average loan duration by
+    // author with dimension=AUTHOR&orderBy=AVERAGE_DURATION
+    @GetMapping("/circulation")
+    public ResponseEntity<ApiResponse<List<CirculationStatResponse>>> getCirculation(
+            @RequestParam(defaultValue = "BOOK") CirculationRollups.Dimension dimension,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "LOANS") CirculationReportService.OrderBy orderBy,
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.withMonth((end.getMonthValue() - 1) / 3 * 3 + 1).withDayOfMonth(1);
+        List<CirculationStatResponse> stats = circulationReportService.top(dimension, start, end, orderBy, limit);
+        return ResponseEntity.ok(ApiResponse.success("Circulation from " + start + " to " + end, stats));
+    }
+}
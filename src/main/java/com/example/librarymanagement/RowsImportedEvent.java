@@ -0,0 +1,35 @@
+package com.example.librarymanagement;
+
+import java.util.List;
+
+// Published by the bulk import for every chunk it commits, with the ids the database generated,
+// so the journal records imported rows like any other add. The in-memory structures do not
+// follow these row by row; they rebuild once on CatalogImportedEvent.
+public class RowsImportedEvent {
+
+    private final List<BookEvent> books;
+    private final List<MemberEvent> members;
+
+    private RowsImportedEvent(List<BookEvent> books, List<MemberEvent> members) {
+        this.books = books;
+        this.members = members;
+    }
+
+    // Static factory methods
+    public static RowsImportedEvent books(List<BookEvent> books) {
+        return new RowsImportedEvent(books, List.of());
+    }
+
+    public static RowsImportedEvent members(List<MemberEvent> members) {
+        return new RowsImportedEvent(List.of(), members);
+    }
+
+    // Getters
+    public List<BookEvent> getBooks() { return books; }
+    public List<MemberEvent> getMembers() { return members; }
+
+    @Override
+    public String toString() {
+        return "RowsImportedEvent{books=" + books.size() + ", members=" + members.size() + "}";
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.librarymanagement;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// For rows changed with plain JDBC behind Hibernate's back: drops the cached entity now and
+// again after the transaction completes, in case another transaction re-cached the old row in between
+final class SecondLevelCacheEviction {
+
+    private SecondLevelCacheEviction() {}
+
+    static void evict(EntityManagerFactory entityManagerFactory, Class<?> entityClass, Object id) {
+        entityManagerFactory.getCache().evict(entityClass, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entityManagerFactory.getCache().evict(entityClass, id);
+                }
+            });
+        }
+    }
+}
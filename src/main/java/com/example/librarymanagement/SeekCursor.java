@@ -0,0 +1,73 @@
+package com.example.librarymanagement;
+
+import com.example.librarymanagement.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset cursor: remembers the (sort key value, id) of the last row handed out,
+// so the next page seeks past it instead of skipping rows with OFFSET
+public class SeekCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortKey;
+    private final String direction;
+    private final long id;
+    private final String value;
+
+    public SeekCursor(String sortKey, String direction, long id, String value) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.id = id;
+        this.value = value == null ? "" : value;
+    }
+
+    public String encode() {
+        // The value goes last because it is free text and may itself contain the separator
+        String raw = sortKey + SEPARATOR + direction + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SeekCursor decode(String cursor, String expectedSortKey, String expectedDirection) {
+        SeekCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            decoded = new SeekCursor(parts[0], parts[1], Long.parseLong(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+
+        if (!decoded.sortKey.equals(expectedSortKey) || !decoded.direction.equals(expectedDirection)) {
+            throw new InvalidPageRequestException("Cursor was issued for a different sort order");
+        }
+        return decoded;
+    }
+
+    public String getSortKey() { return sortKey; }
+    public String getDirection() { return direction; }
+    public long getId() { return id; }
+    public String getValue() { return value; }
+
+    public LocalDateTime getDateTimeValue() {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+    }
+
+    public double getDoubleValue() {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+    }
+}
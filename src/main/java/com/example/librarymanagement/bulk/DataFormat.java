@@ -0,0 +1,31 @@
+package com.example.librarymanagement.bulk;
+
+import org.springframework.http.MediaType;
+
+// Line-oriented formats of the bulk import and export endpoints: one record per line either way
+public enum DataFormat {
+    CSV,
+    NDJSON;
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    public static DataFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))) {
+            return NDJSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE))) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+
+    public MediaType getMediaType() {
+        return MediaType.parseMediaType(this == CSV ? CSV_MEDIA_TYPE : NDJSON_MEDIA_TYPE);
+    }
+
+    public String getExtension() {
+        return this == CSV ? "csv" : "ndjson";
+    }
+}
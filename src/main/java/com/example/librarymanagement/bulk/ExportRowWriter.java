@@ -0,0 +1,103 @@
+package com.example.librarymanagement.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Writes export rows (column values in a fixed order) straight to the response stream.
+// Nothing is kept per row, so the writer's buffer is all the memory an export needs.
+abstract class ExportRowWriter {
+
+    final List<String> columns;
+
+    ExportRowWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    static ExportRowWriter create(DataFormat format, OutputStream out, List<String> columns,
+                                  ObjectMapper objectMapper) throws IOException {
+        return format == DataFormat.CSV
+                ? new Csv(out, columns)
+                : new Ndjson(out, columns, objectMapper);
+    }
+
+    abstract void write(Object[] values) throws IOException;
+
+    // Pushes out whatever is buffered; the stream itself belongs to the caller
+    abstract void flush() throws IOException;
+
+    private static final class Csv extends ExportRowWriter {
+        private final Writer writer;
+
+        Csv(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            writeLine(columns.toArray());
+        }
+
+        @Override
+        void write(Object[] values) throws IOException {
+            writeLine(values);
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(values[i].toString()));
+                }
+            }
+            writer.write('\n');
+        }
+
+        // Same quoting rules ImportRowReader understands, so an export can be imported again
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class Ndjson extends ExportRowWriter {
+        private final JsonGenerator generator;
+
+        Ndjson(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            super(columns);
+            // The application's mapper, so dates are written the way the REST API writes them
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setCodec(objectMapper);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.librarymanagement.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads an import body one line at a time, so memory stays flat however large the upload is.
+// CSV needs a header line naming the request fields; quoted fields may contain commas and ""
+// but not line breaks. A row that cannot be parsed becomes an error row, the rest carry on.
+class ImportRowReader<T> implements Closeable {
+
+    private final BufferedReader reader;
+    private final DataFormat format;
+    private final Class<T> type;
+    private final ObjectMapper objectMapper;
+
+    private List<String> header;
+    private int lineNumber;
+
+    ImportRowReader(InputStream in, DataFormat format, Class<T> type, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.type = type;
+        this.objectMapper = objectMapper;
+    }
+
+    // Next record, or null at the end of the body
+    Row<T> next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == DataFormat.NDJSON) {
+                return parseJson(line);
+            }
+            if (header == null) {
+                header = parseHeader(line);
+                continue;
+            }
+            return parseCsv(line);
+        }
+        return null;
+    }
+
+    private Row<T> parseJson(String line) {
+        try {
+            T value = objectMapper.readValue(line, type);
+            return value != null ? Row.of(lineNumber, value) : Row.error(lineNumber, "Record is null");
+        } catch (JsonProcessingException e) {
+            return Row.error(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private List<String> parseHeader(String line) {
+        List<String> columns = new ArrayList<>();
+        for (String column : splitCsvLine(line)) {
+            columns.add(column.trim());
+        }
+        return columns;
+    }
+
+    private Row<T> parseCsv(String line) {
+        List<String> values;
+        try {
+            values = splitCsvLine(line);
+        } catch (IllegalArgumentException e) {
+            return Row.error(lineNumber, e.getMessage());
+        }
+        if (values.size() != header.size()) {
+            return Row.error(lineNumber, "Expected " + header.size() + " columns but found " + values.size());
+        }
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            // Empty cells are missing values, not empty strings
+            fields.put(header.get(i), values.get(i).isEmpty() ? null : values.get(i));
+        }
+        try {
+            return Row.of(lineNumber, objectMapper.convertValue(fields, type));
+        } catch (IllegalArgumentException e) {
+            return Row.error(lineNumber, "Cannot map columns: " + e.getMessage());
+        }
+    }
+
+    // RFC 4180 field splitting for a single line
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // One parsed record: either a value or the reason it was rejected
+    static class Row<T> {
+        final int lineNumber;
+        final T value;
+        final String error;
+
+        private Row(int lineNumber, T value, String error) {
+            this.lineNumber = lineNumber;
+            this.value = value;
+            this.error = error;
+        }
+
+        static <T> Row<T> of(int lineNumber, T value) {
+            return new Row<>(lineNumber, value, null);
+        }
+
+        static <T> Row<T> error(int lineNumber, String error) {
+            return new Row<>(lineNumber, null, error);
+        }
+    }
+}
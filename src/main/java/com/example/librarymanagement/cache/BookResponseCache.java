@@ -0,0 +1,82 @@
+package com.example.librarymanagement.cache;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.dto.BookResponse;
+import com.example.librarymanagement.dto.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Read-through cache for single-book lookups. Caffeine's W-TinyLFU admission keeps the popular
+// titles resident and stops one-off lookups (crawlers, scans) from flushing them out.
+// Entries are dropped after commit of any change to the book, and a borrowed book's entry
+// expires at its due date so the cached overdue flag never goes stale.
+@Component
+public class BookResponseCache {
+
+    private final Cache<Long, BookResponse> cache;
+    private final long maximumSize;
+
+    public BookResponseCache(@Value("${library.cache.books.maximum-size:10000}") long maximumSize) {
+        this.maximumSize = maximumSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilOverdue())
+                .recordStats()
+                .build();
+    }
+
+    // Missing books are not cached, so a book created later is found straight away
+    public Optional<BookResponse> get(Long bookId, Function<Long, Optional<BookResponse>> loader) {
+        return Optional.ofNullable(cache.get(bookId, id -> loader.apply(id).orElse(null)));
+    }
+
+    public void invalidate(Long bookId) {
+        cache.invalidate(bookId);
+    }
+
+    // Only committed changes evict, so a rolled-back borrow leaves the entry alone
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        switch (event.getType()) {
+            case BORROWED, RETURNED, DELETED -> invalidate(event.getBookId());
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), cache.estimatedSize(), maximumSize);
+    }
+
+    private static final class UntilOverdue implements Expiry<Long, BookResponse> {
+
+        @Override
+        public long expireAfterCreate(Long bookId, BookResponse book, long currentTime) {
+            if (book.getDueDate() == null || book.isOverdue()) {
+                return Long.MAX_VALUE;
+            }
+            Duration untilDue = Duration.between(LocalDateTime.now(), book.getDueDate());
+            return Math.max(0, untilDue.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Long bookId, BookResponse book, long currentTime, long currentDuration) {
+            return expireAfterCreate(bookId, book, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long bookId, BookResponse book, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
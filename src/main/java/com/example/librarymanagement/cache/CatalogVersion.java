@@ -0,0 +1,35 @@
+package com.example.librarymanagement.cache;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.CatalogImportedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Catalog-wide version stamp for conditional GETs on the book list: bumped after every committed
+// book change, so "has anything changed?" is answered without touching the database
+@Component
+public class CatalogVersion {
+
+    // Differs per run, so an ETag handed out before a restart can never match by accident
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        version.incrementAndGet();
+    }
+
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        version.incrementAndGet();
+    }
+
+    // Overdue flags in the list change with time alone; the overdue count only grows between
+    // versions (returns bump the version), so it captures those changes too
+    public String etag(int overdueCount) {
+        return "catalog-" + epoch + "-" + version.get() + "-" + overdueCount;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.librarymanagement.cache;
+
+import java.util.Arrays;
+
+// Open-addressing long -> int map on two primitive arrays: no boxing and no entry objects,
+// so a counter per member costs 12 bytes (at most 24 with the load factor) instead of ~80.
+// Keys must be positive (0 marks a free slot), which database ids always are. Not thread-safe.
+final class LongIntHashMap {
+
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    // 0 for absent keys, which is also what a member without loans has
+    int get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : 0;
+    }
+
+    // Adds delta, floored at 0; a key that drops to 0 is removed. Returns the new value.
+    int addTo(long key, int delta) {
+        int slot = find(key);
+        int updated = Math.max(0, (slot >= 0 ? values[slot] : 0) + delta);
+        if (slot >= 0) {
+            if (updated == 0) {
+                removeAt(slot);
+            } else {
+                values[slot] = updated;
+            }
+        } else if (updated > 0) {
+            insert(key, updated);
+        }
+        return updated;
+    }
+
+    void put(long key, int value) {
+        int slot = find(key);
+        if (slot >= 0) {
+            if (value == 0) {
+                removeAt(slot);
+            } else {
+                values[slot] = value;
+            }
+        } else if (value != 0) {
+            insert(key, value);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    private int find(long key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            if (keys[slot] == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    private void insert(long key, int value) {
+        if (size + 1 > (mask + 1) / 2) {
+            resize();
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != FREE) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    // Backward-shift deletion: keeps probe chains intact without tombstones
+    private void removeAt(int slot) {
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = slotOf(keys[next]);
+            // Move the entry into the gap unless its home lies cyclically in (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = FREE;
+        size--;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slotOf(long key) {
+        // Fibonacci hashing spreads sequential ids over the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.librarymanagement.cache;
+
+import com.example.librarymanagement.MemberEvent;
+import com.example.librarymanagement.dto.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Email to member id, for the find-or-create lookup of every borrow. Members added through
+// MemberService or created at checkout are put in after commit, deactivated members are dropped.
+// A miss is resolved by the caller in its own transaction; the cache never runs database work
+// itself. Callers resolving a miss hold the email's stripe until their transaction completes,
+// so concurrent first borrows by the same new patron create the member once.
+@Component
+public class MemberIdCache {
+
+    private static final int MISS_STRIPES = 64;
+
+    private final Cache<String, Long> cache;
+    private final ReentrantLock[] missStripes = new ReentrantLock[MISS_STRIPES];
+    private final long maximumSize;
+
+    public MemberIdCache(@Value("${library.cache.members.maximum-size:50000}") long maximumSize) {
+        this.maximumSize = maximumSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        for (int i = 0; i < MISS_STRIPES; i++) {
+            missStripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Long getIfPresent(String email) {
+        return cache.getIfPresent(email);
+    }
+
+    // For a member read in the current transaction: cached once that transaction commits, so a
+    // rolled-back lookup leaves nothing behind
+    public void putAfterCommit(String email, Long memberId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(email, memberId);
+                }
+            });
+        } else {
+            cache.put(email, memberId);
+        }
+    }
+
+    // Serializes miss resolution per email until the current transaction completes: a second
+    // caller waits for the first one's insert to commit and then finds the member instead of
+    // inserting it again
+    public void lockMissUntilCompletion(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Resolving a member id miss needs a transaction");
+        }
+        ReentrantLock lock = missStripes[Math.floorMod(email.hashCode(), MISS_STRIPES)];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+    // Only committed members go in, so a rolled-back insert never leaves an id behind
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberEvent(MemberEvent event) {
+        switch (event.getType()) {
+            case ADDED -> cache.put(event.getEmail(), event.getMemberId());
+            case DEACTIVATED -> invalidate(event.getEmail());
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), cache.estimatedSize(), maximumSize);
+    }
+}
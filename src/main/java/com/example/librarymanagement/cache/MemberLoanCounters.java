@@ -0,0 +1,56 @@
+package com.example.librarymanagement.cache;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.MemberRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// In-memory mirror of members.active_loan_count, following committed borrows and returns.
+// Lets a checkout over the limit be turned away before any database work; the guarded
+// UPDATE in MemberRepositoryCustomImpl stays the authority.
+@Component
+public class MemberLoanCounters {
+
+    private final MemberRepository memberRepository;
+    private final LongIntHashMap counts = new LongIntHashMap(1024);
+
+    public MemberLoanCounters(MemberRepository memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int repaired = memberRepository.reconcileActiveLoanCounts();
+        List<Object[]> rows = memberRepository.findActiveLoanCounts();
+        synchronized (this) {
+            counts.clear();
+            for (Object[] row : rows) {
+                counts.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        System.out.println("📚 Loan counters loaded: " + rows.size() + " members with loans, " + repaired + " repaired");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        if (event.getMemberId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case BORROWED -> adjust(event.getMemberId(), 1);
+            case RETURNED, DELETED -> adjust(event.getMemberId(), -1);
+        }
+    }
+
+    public synchronized int get(Long memberId) {
+        return counts.get(memberId);
+    }
+
+    private synchronized void adjust(Long memberId, int delta) {
+        counts.addTo(memberId, delta);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.librarymanagement.cache;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.UUID;
+
+// Gives every EntityManagerFactory its own JCache CacheManager for the second-level cache.
+// The provider hands out one manager per URI and Hibernate closes its manager on shutdown, so with
+// the default URI the first application context to close (a finished test context, say) closed
+// the caches of every other context in the JVM. The URI only names the manager: the regions are
+// still read from application.conf.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager() {
+        return properties -> {
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            URI uri = URI.create("library-l2:" + UUID.randomUUID());
+            properties.put(ConfigSettings.CACHE_MANAGER,
+                    provider.getCacheManager(uri, provider.getDefaultClassLoader()));
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.librarymanagement.circulation;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Loans, returns and total loan time of one book, author or member over one day or one
+// (Monday-based) week. Maintained by CirculationRollups; reports sum these instead of loans.
+@Entity
+@Table(name = "circulation_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollups_period",
+                columnNames = {"dimension", "granularity", "period_start", "dimension_key"}))
+public class CirculationRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dimension", nullable = false, length = 10)
+    private String dimension;
+
+    @Column(name = "granularity", nullable = false, length = 10)
+    private String granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "dimension_key", nullable = false, length = 100)
+    private String dimensionKey;
+
+    @Column(name = "loan_count", nullable = false)
+    private long loans;
+
+    @Column(name = "return_count", nullable = false)
+    private long returns;
+
+    // Summed over the returns, so average loan time = loanSeconds / returns
+    @Column(name = "loan_seconds", nullable = false)
+    private long loanSeconds;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CirculationRollup() {}
+
+    // Getters
+    public Long getId() { return id; }
+    public String getDimension() { return dimension; }
+    public String getGranularity() { return granularity; }
+    public LocalDate getPeriodStart() { return periodStart; }
+    public String getDimensionKey() { return dimensionKey; }
+    public long getLoans() { return loans; }
+    public long getReturns() { return returns; }
+    public long getLoanSeconds() { return loanSeconds; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
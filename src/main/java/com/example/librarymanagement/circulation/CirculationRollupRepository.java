@@ -0,0 +1,15 @@
+package com.example.librarymanagement.circulation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface CirculationRollupRepository extends JpaRepository<CirculationRollup, Long> {
+
+    // Latest day that has been flushed; served from the unique index
+    @Query("SELECT MAX(r.periodStart) FROM CirculationRollup r WHERE r.dimension = 'BOOK' AND r.granularity = 'DAY'")
+    LocalDate findLastFlushedDay();
+}
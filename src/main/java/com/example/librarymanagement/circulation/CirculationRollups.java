@@ -0,0 +1,322 @@
+package com.example.librarymanagement.circulation;
+
+import com.example.librarymanagement.BookEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Keeps circulation_rollups up to date: every committed borrow and return adds to the daily and
+// weekly row of its book, its author and its member. The deltas are summed in memory and written
+// every flush-interval, one statement per touched row, so a popular author's row is written once per
+// flush instead of being locked by every borrow. Deltas not yet flushed when the process dies are
+// recomputed from the loans table on the next start.
+@Component
+public class CirculationRollups {
+
+    public enum Dimension { BOOK, AUTHOR, MEMBER }
+
+    public enum Granularity { DAY, WEEK }
+
+    private static final int LOOKUP_CHUNK = 500;
+
+    private static final String ADD_TO_ROLLUP =
+            "UPDATE circulation_rollups SET loan_count = loan_count + ?, return_count = return_count + ?, " +
+            "loan_seconds = loan_seconds + ?, updated_at = ? " +
+            "WHERE dimension = ? AND granularity = ? AND period_start = ? AND dimension_key = ?";
+
+    private static final String INSERT_ROLLUP =
+            "INSERT INTO circulation_rollups (dimension, granularity, period_start, dimension_key, " +
+            "loan_count, return_count, loan_seconds, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_FROM =
+            "DELETE FROM circulation_rollups WHERE dimension = ? AND granularity = ? AND period_start >= ?";
+
+    private static final String LOANS_SINCE =
+            "SELECT book_id, member_id, author, borrowed_at, returned_at FROM loans " +
+            "WHERE borrowed_at >= ? OR returned_at >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CirculationRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Writers share the read lock; the flush takes the write lock only to swap in an empty map
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private Map<RollupKey, Delta> pending = new ConcurrentHashMap<>();
+
+    public CirculationRollups(JdbcTemplate jdbcTemplate, CirculationRollupRepository rollupRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Runs before the application takes requests. Recomputes the weeks from the last flushed day
+    // on (a day earlier, for listeners that ran late around midnight) from the loans table.
+    @PostConstruct
+    public void repair() {
+        LocalDate lastFlushed = rollupRepository.findLastFlushedDay();
+        LocalDate from;
+        if (lastFlushed != null) {
+            from = lastFlushed.minusDays(1);
+        } else {
+            LocalDateTime firstLoan = jdbcTemplate.queryForObject("SELECT MIN(borrowed_at) FROM loans", LocalDateTime.class);
+            if (firstLoan == null) {
+                return;
+            }
+            from = firstLoan.toLocalDate();
+        }
+        int rows = rebuildFrom(weekStart(from));
+        System.out.println("📈 Circulation rollups recomputed from " + weekStart(from) + ": " + rows + " rows");
+    }
+
+    // Replaces every rollup row of a period starting on or after the given Monday with one
+    // computed from the loans table
+    synchronized int rebuildFrom(LocalDate monday) {
+        LocalDateTime since = monday.atStartOfDay();
+        Map<RollupKey, Delta> fresh = new TreeMap<>();
+        jdbcTemplate.query(LOANS_SINCE, (RowCallbackHandler) rs -> {
+            Long bookId = rs.getLong("book_id");
+            Long memberId = rs.getLong("member_id");
+            String author = rs.getString("author");
+            LocalDateTime borrowedAt = rs.getObject("borrowed_at", LocalDateTime.class);
+            LocalDateTime returnedAt = rs.getObject("returned_at", LocalDateTime.class);
+            if (!borrowedAt.isBefore(since)) {
+                addBorrow(fresh, borrowedAt, bookId, author, memberId);
+            }
+            if (returnedAt != null && !returnedAt.isBefore(since)) {
+                addReturn(fresh, borrowedAt, returnedAt, bookId, author, memberId);
+            }
+        }, since, since);
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Dimension dimension : Dimension.values()) {
+                for (Granularity granularity : Granularity.values()) {
+                    jdbcTemplate.update(DELETE_FROM, dimension.name(), granularity.name(), monday);
+                }
+            }
+            List<Object[]> rows = new ArrayList<>(fresh.size());
+            fresh.forEach((key, delta) -> rows.add(new Object[]{key.dimension.name(), key.granularity.name(),
+                    key.periodStart, key.key, delta.loans.sum(), delta.returns.sum(), delta.loanSeconds.sum(), now}));
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ROLLUP, rows);
+            }
+        });
+        return fresh.size();
+    }
+
+    // After commit only: a rolled-back borrow is not counted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        if (event.getType() != BookEvent.Type.BORROWED && event.getType() != BookEvent.Type.RETURNED) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            if (event.getType() == BookEvent.Type.BORROWED) {
+                addBorrow(pending, event.getBorrowedDate(), event.getBookId(), event.getAuthor(), event.getMemberId());
+            } else if (event.getBorrowedDate() != null) {
+                addReturn(pending, event.getBorrowedDate(), event.getOccurredAt(), event.getBookId(),
+                        event.getAuthor(), event.getMemberId());
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${library.circulation.flush-interval:PT10S}")
+    @PreDestroy
+    public synchronized void flush() {
+        Map<RollupKey, Delta> batch;
+        swapLock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        // Sorted, so two instances flushing at once lock the rows in the same order
+        Map<RollupKey, Delta> sorted = new TreeMap<>(batch);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<RollupKey> existing = existingRows(sorted.keySet());
+                List<Object[]> inserts = new ArrayList<>();
+                List<Object[]> updates = new ArrayList<>();
+                sorted.forEach((key, delta) -> {
+                    if (existing.contains(key)) {
+                        updates.add(new Object[]{delta.loans.sum(), delta.returns.sum(), delta.loanSeconds.sum(), now,
+                                key.dimension.name(), key.granularity.name(), key.periodStart, key.key});
+                    } else {
+                        inserts.add(new Object[]{key.dimension.name(), key.granularity.name(), key.periodStart, key.key,
+                                delta.loans.sum(), delta.returns.sum(), delta.loanSeconds.sum(), now});
+                    }
+                });
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(ADD_TO_ROLLUP, updates);
+                }
+                // Another instance inserting the same new row fails this flush on the unique key;
+                // the retry then finds the row and updates it
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_ROLLUP, inserts);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Nothing was written: keep the deltas for the next flush
+            swapLock.readLock().lock();
+            try {
+                batch.forEach((key, delta) -> pending.computeIfAbsent(key, k -> new Delta()).add(delta));
+            } finally {
+                swapLock.readLock().unlock();
+            }
+            System.out.println("❌ Circulation rollup flush failed, will retry: " + e.getMessage());
+        }
+    }
+
+    // Which of the keys already have a row, looked up through the unique index a period at a time
+    // (a flush usually touches today and this week). Update counts would say the same without the
+    // lookup, but they are not reported for rewritten batches.
+    private Set<RollupKey> existingRows(Collection<RollupKey> keys) {
+        Map<RollupKey, List<RollupKey>> byPeriod = new TreeMap<>();
+        for (RollupKey key : keys) {
+            byPeriod.computeIfAbsent(new RollupKey(key.dimension, key.granularity, key.periodStart, ""),
+                    period -> new ArrayList<>()).add(key);
+        }
+        Set<RollupKey> existing = new HashSet<>();
+        byPeriod.forEach((period, periodKeys) -> {
+            for (int from = 0; from < periodKeys.size(); from += LOOKUP_CHUNK) {
+                List<RollupKey> chunk = periodKeys.subList(from, Math.min(from + LOOKUP_CHUNK, periodKeys.size()));
+                String sql = "SELECT dimension_key FROM circulation_rollups WHERE dimension = ? AND granularity = ? " +
+                        "AND period_start = ? AND dimension_key IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                List<Object> args = new ArrayList<>(chunk.size() + 3);
+                args.add(period.dimension.name());
+                args.add(period.granularity.name());
+                args.add(period.periodStart);
+                chunk.forEach(key -> args.add(key.key));
+                for (String found : jdbcTemplate.queryForList(sql, String.class, args.toArray())) {
+                    existing.add(new RollupKey(period.dimension, period.granularity, period.periodStart, found));
+                }
+            }
+        });
+        return existing;
+    }
+
+    private static void addBorrow(Map<RollupKey, Delta> target, LocalDateTime borrowedAt,
+                                  Long bookId, String author, Long memberId) {
+        forEachRollup(borrowedAt.toLocalDate(), bookId, author, memberId,
+                key -> target.computeIfAbsent(key, k -> new Delta()).loans.increment());
+    }
+
+    // Counted on the day of the return, with the whole length of the loan
+    private static void addReturn(Map<RollupKey, Delta> target, LocalDateTime borrowedAt, LocalDateTime returnedAt,
+                                  Long bookId, String author, Long memberId) {
+        long seconds = Math.max(0, Duration.between(borrowedAt, returnedAt).getSeconds());
+        forEachRollup(returnedAt.toLocalDate(), bookId, author, memberId, key -> {
+            Delta delta = target.computeIfAbsent(key, k -> new Delta());
+            delta.returns.increment();
+            delta.loanSeconds.add(seconds);
+        });
+    }
+
+    private static void forEachRollup(LocalDate day, Long bookId, String author, Long memberId,
+                                      Consumer<RollupKey> action) {
+        for (Granularity granularity : Granularity.values()) {
+            LocalDate periodStart = granularity == Granularity.DAY ? day : weekStart(day);
+            if (bookId != null) {
+                action.accept(new RollupKey(Dimension.BOOK, granularity, periodStart, bookId.toString()));
+            }
+            if (author != null) {
+                action.accept(new RollupKey(Dimension.AUTHOR, granularity, periodStart, author));
+            }
+            if (memberId != null) {
+                action.accept(new RollupKey(Dimension.MEMBER, granularity, periodStart, memberId.toString()));
+            }
+        }
+    }
+
+    static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static final class Delta {
+        final LongAdder loans = new LongAdder();
+        final LongAdder returns = new LongAdder();
+        final LongAdder loanSeconds = new LongAdder();
+
+        void add(Delta other) {
+            loans.add(other.loans.sum());
+            returns.add(other.returns.sum());
+            loanSeconds.add(other.loanSeconds.sum());
+        }
+    }
+
+    private static final class RollupKey implements Comparable<RollupKey> {
+        final Dimension dimension;
+        final Granularity granularity;
+        final LocalDate periodStart;
+        final String key;
+
+        RollupKey(Dimension dimension, Granularity granularity, LocalDate periodStart, String key) {
+            this.dimension = dimension;
+            this.granularity = granularity;
+            this.periodStart = periodStart;
+            this.key = key;
+        }
+
+        // Same order as the unique index
+        @Override
+        public int compareTo(RollupKey other) {
+            int result = dimension.name().compareTo(other.dimension.name());
+            if (result == 0) {
+                result = granularity.name().compareTo(other.granularity.name());
+            }
+            if (result == 0) {
+                result = periodStart.compareTo(other.periodStart);
+            }
+            return result != 0 ? result : key.compareTo(other.key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RollupKey other)) return false;
+            return dimension == other.dimension && granularity == other.granularity
+                    && periodStart.equals(other.periodStart) && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, granularity, periodStart, key);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.librarymanagement.circulation;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One loan of one book, kept after the book is returned. Written by LoanHistory in the borrow's
+// transaction and closed by the return's; a loan still open has no returned_at. Like the fines
+// ledger it holds plain ids (and the author, for reports) so deleting a book or a member does not
+// rewrite history.
+@Entity
+@Table(name = "loans", indexes = {
+        @Index(name = "idx_loans_book_returned", columnList = "book_id, returned_at"),
+        @Index(name = "idx_loans_borrowed_at", columnList = "borrowed_at"),
+        @Index(name = "idx_loans_returned_at", columnList = "returned_at")
+})
+public class Loan {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "author", length = 50)
+    private String author;
+
+    @Column(name = "borrowed_at", nullable = false)
+    private LocalDateTime borrowedAt;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "returned_at")
+    private LocalDateTime returnedAt;
+
+    // Constructors
+    public Loan() {}
+
+    // Getters (rows are written with JDBC, see LoanHistory)
+    public Long getId() { return id; }
+    public Long getBookId() { return bookId; }
+    public Long getMemberId() { return memberId; }
+    public String getAuthor() { return author; }
+    public LocalDateTime getBorrowedAt() { return borrowedAt; }
+    public LocalDateTime getDueDate() { return dueDate; }
+    public LocalDateTime getReturnedAt() { return returnedAt; }
+}
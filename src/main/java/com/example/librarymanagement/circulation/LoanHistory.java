@@ -0,0 +1,49 @@
+package com.example.librarymanagement.circulation;
+
+import com.example.librarymanagement.BookEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Writes the loans table. Called by LibraryService inside the borrow or return transaction, so a
+// loan row exists exactly when the loan does. Plain JDBC batches: a self-checkout of ten books is
+// one round trip, and the IDENTITY key would keep Hibernate from batching the inserts.
+@Component
+public class LoanHistory {
+
+    private static final String OPEN_LOAN =
+            "INSERT INTO loans (book_id, member_id, author, borrowed_at, due_date) VALUES (?, ?, ?, ?, ?)";
+
+    // A deleted book's loan stays open: it was never returned
+    private static final String CLOSE_LOAN =
+            "UPDATE loans SET returned_at = ? WHERE book_id = ? AND returned_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoanHistory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // BORROWED events of the current transaction
+    public void recordBorrowed(List<BookEvent> borrowed) {
+        if (borrowed.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(OPEN_LOAN, borrowed.stream()
+                .map(event -> new Object[]{event.getBookId(), event.getMemberId(), event.getAuthor(),
+                        event.getBorrowedDate(), event.getDueDate()})
+                .toList());
+    }
+
+    // RETURNED events of the current transaction. Loans that started before the history was
+    // kept have no row to close and are skipped.
+    public void recordReturned(List<BookEvent> returned) {
+        if (returned.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(CLOSE_LOAN, returned.stream()
+                .map(event -> new Object[]{event.getOccurredAt(), event.getBookId()})
+                .toList());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.librarymanagement.dto;
+
+public class AuthorCountResponse {
+    private String author;
+    private long bookCount;
+
+    // Constructors
+    public AuthorCountResponse() {}
+
+    public AuthorCountResponse(String author, long bookCount) {
+        this.author = author;
+        this.bookCount = bookCount;
+    }
+
+    // Getters and Setters
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public long getBookCount() { return bookCount; }
+    public void setBookCount(long bookCount) { this.bookCount = bookCount; }
+}
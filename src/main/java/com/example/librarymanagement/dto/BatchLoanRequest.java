@@ -0,0 +1,37 @@
+package com.example.librarymanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Several books borrowed or returned by one member in a single request (e.g. a self-checkout scan)
+public class BatchLoanRequest {
+
+    public static final int MAX_BOOKS = 50;
+
+    @NotBlank(message = "Member name is required")
+    @Size(min = 2, max = 50, message = "Member name must be between 2 and 50 characters")
+    private String memberName;
+
+    @NotEmpty(message = "At least one book ID is required")
+    @Size(max = MAX_BOOKS, message = "At most " + MAX_BOOKS + " books per request")
+    private List<@NotNull(message = "Book IDs must not be null") Long> bookIds;
+
+    // Constructors
+    public BatchLoanRequest() {}
+
+    public BatchLoanRequest(String memberName, List<Long> bookIds) {
+        this.memberName = memberName;
+        this.bookIds = bookIds;
+    }
+
+    // Getters and Setters
+    public String getMemberName() { return memberName; }
+    public void setMemberName(String memberName) { this.memberName = memberName; }
+
+    public List<Long> getBookIds() { return bookIds; }
+    public void setBookIds(List<Long> bookIds) { this.bookIds = bookIds; }
+}
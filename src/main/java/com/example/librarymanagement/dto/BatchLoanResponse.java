@@ -0,0 +1,80 @@
+package com.example.librarymanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-book outcome of a batch borrow or return; the books that succeeded are committed
+// even when others in the same request were rejected
+public class BatchLoanResponse {
+    private String memberName;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results = new ArrayList<>();
+
+    // Constructors
+    public BatchLoanResponse() {}
+
+    public BatchLoanResponse(String memberName) {
+        this.memberName = memberName;
+    }
+
+    public void addSuccess(Long bookId, String title, LocalDateTime dueDate) {
+        succeeded++;
+        results.add(new ItemResult(bookId, title, true, null, dueDate));
+    }
+
+    public void addFailure(Long bookId, String message) {
+        failed++;
+        results.add(new ItemResult(bookId, null, false, message, null));
+    }
+
+    // Getters and Setters
+    public String getMemberName() { return memberName; }
+    public void setMemberName(String memberName) { this.memberName = memberName; }
+
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<ItemResult> getResults() { return results; }
+    public void setResults(List<ItemResult> results) { this.results = results; }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+        private Long bookId;
+        private String title;
+        private boolean success;
+        private String message;
+        private LocalDateTime dueDate;
+
+        public ItemResult() {}
+
+        public ItemResult(Long bookId, String title, boolean success, String message, LocalDateTime dueDate) {
+            this.bookId = bookId;
+            this.title = title;
+            this.success = success;
+            this.message = message;
+            this.dueDate = dueDate;
+        }
+
+        public Long getBookId() { return bookId; }
+        public void setBookId(Long bookId) { this.bookId = bookId; }
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+
+        public LocalDateTime getDueDate() { return dueDate; }
+        public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.librarymanagement.dto;
 
 import com.example.librarymanagement.Book;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 
@@ -17,10 +18,30 @@ public class BookResponse {
     private LocalDateTime dueDate;
     private boolean overdue;
     private LocalDateTime createdAt;
+    @JsonIgnore
+    private long version;   // Only used to build the ETag
 
     // Constructors
     public BookResponse() {}
 
+    // Used by the constructor-expression queries in BookRepository
+    public BookResponse(Long id, String title, String author, String isbn, boolean available,
+                        Long borrowedByMemberId, String borrowedByMemberName,
+                        LocalDateTime borrowedDate, LocalDateTime dueDate, LocalDateTime createdAt, long version) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.available = available;
+        this.borrowedByMemberId = borrowedByMemberId;
+        this.borrowedByMemberName = borrowedByMemberName;
+        this.borrowedDate = borrowedDate;
+        this.dueDate = dueDate;
+        this.overdue = dueDate != null && LocalDateTime.now().isAfter(dueDate);
+        this.createdAt = createdAt;
+        this.version = version;
+    }
+
     // Static factory method
     public static BookResponse from(Book book) {
         BookResponse response = new BookResponse();
@@ -33,6 +54,7 @@ public class BookResponse {
         response.dueDate = book.getDueDate();
         response.overdue = book.isOverdue();
         response.createdAt = book.getCreatedAt();
+        response.version = book.getVersion();
 
         if (book.getBorrowedBy() != null) {
             response.borrowedByMemberName = book.getBorrowedBy().getName();
@@ -75,4 +97,7 @@ public class BookResponse {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
-}
\ No newline at end of file
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -0,0 +1,42 @@
+package com.example.librarymanagement.dto;
+
+public class CacheStatsResponse {
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long estimatedSize;
+    private long maximumSize;
+
+    // Constructors
+    public CacheStatsResponse() {}
+
+    public CacheStatsResponse(long hitCount, long missCount, double hitRate,
+                              long evictionCount, long estimatedSize, long maximumSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+        this.estimatedSize = estimatedSize;
+        this.maximumSize = maximumSize;
+    }
+
+    // Getters and Setters
+    public long getHitCount() { return hitCount; }
+    public void setHitCount(long hitCount) { this.hitCount = hitCount; }
+
+    public long getMissCount() { return missCount; }
+    public void setMissCount(long missCount) { this.missCount = missCount; }
+
+    public double getHitRate() { return hitRate; }
+    public void setHitRate(double hitRate) { this.hitRate = hitRate; }
+
+    public long getEvictionCount() { return evictionCount; }
+    public void setEvictionCount(long evictionCount) { this.evictionCount = evictionCount; }
+
+    public long getEstimatedSize() { return estimatedSize; }
+    public void setEstimatedSize(long estimatedSize) { this.estimatedSize = estimatedSize; }
+
+    public long getMaximumSize() { return maximumSize; }
+    public void setMaximumSize(long maximumSize) { this.maximumSize = maximumSize; }
+}
@@ -0,0 +1,42 @@
+package com.example.librarymanagement.dto;
+
+public class CirculationStatResponse {
+    private String dimension;
+    private String key;
+    private String label;
+    private long loans;
+    private long returns;
+    private Double averageLoanDays;
+
+    // Constructors
+    public CirculationStatResponse() {}
+
+    public CirculationStatResponse(String dimension, String key, String label, long loans, long returns,
+                                   Double averageLoanDays) {
+        this.dimension = dimension;
+        this.key = key;
+        this.label = label;
+        this.loans = loans;
+        this.returns = returns;
+        this.averageLoanDays = averageLoanDays;
+    }
+
+    // Getters and Setters
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+
+    public long getLoans() { return loans; }
+    public void setLoans(long loans) { this.loans = loans; }
+
+    public long getReturns() { return returns; }
+    public void setReturns(long returns) { this.returns = returns; }
+
+    public Double getAverageLoanDays() { return averageLoanDays; }
+    public void setAverageLoanDays(Double averageLoanDays) { this.averageLoanDays = averageLoanDays; }
+}
@@ -0,0 +1,42 @@
+package com.example.librarymanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Count-free page of results: the client follows nextCursor instead of asking for page N
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorSlice<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long approximateTotal;
+
+    // Constructors
+    public CursorSlice() {}
+
+    public CursorSlice(List<T> content, boolean hasNext, String nextCursor, Long approximateTotal) {
+        this.content = content;
+        this.size = content.size();
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+        this.approximateTotal = approximateTotal;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Long getApproximateTotal() { return approximateTotal; }
+    public void setApproximateTotal(Long approximateTotal) { this.approximateTotal = approximateTotal; }
+}
@@ -0,0 +1,51 @@
+package com.example.librarymanagement.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// One page of filtered books plus the facet counts needed to render the filter sidebar
+public class FacetedBooksResponse {
+    private List<BookResponse> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private Map<String, Integer> authorCounts;
+    private int availableCount;
+    private int borrowedCount;
+
+    // Constructors
+    public FacetedBooksResponse() {}
+
+    public FacetedBooksResponse(List<BookResponse> content, int page, int size, long totalElements,
+                                Map<String, Integer> authorCounts, int availableCount, int borrowedCount) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.authorCounts = authorCounts;
+        this.availableCount = availableCount;
+        this.borrowedCount = borrowedCount;
+    }
+
+    // Getters and Setters
+    public List<BookResponse> getContent() { return content; }
+    public void setContent(List<BookResponse> content) { this.content = content; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+
+    public Map<String, Integer> getAuthorCounts() { return authorCounts; }
+    public void setAuthorCounts(Map<String, Integer> authorCounts) { this.authorCounts = authorCounts; }
+
+    public int getAvailableCount() { return availableCount; }
+    public void setAvailableCount(int availableCount) { this.availableCount = availableCount; }
+
+    public int getBorrowedCount() { return borrowedCount; }
+    public void setBorrowedCount(int borrowedCount) { this.borrowedCount = borrowedCount; }
+}
@@ -0,0 +1,41 @@
+package com.example.librarymanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Outcome of one run of the late-fee accrual job
+public class FeeAccrualReport {
+    private LocalDate accrualDate;
+    private long loansCharged;
+    private BigDecimal amountCharged;
+    private int chunks;
+    private long durationMillis;
+
+    // Constructors
+    public FeeAccrualReport() {}
+
+    public FeeAccrualReport(LocalDate accrualDate, long loansCharged, BigDecimal amountCharged,
+                            int chunks, long durationMillis) {
+        this.accrualDate = accrualDate;
+        this.loansCharged = loansCharged;
+        this.amountCharged = amountCharged;
+        this.chunks = chunks;
+        this.durationMillis = durationMillis;
+    }
+
+    // Getters and Setters
+    public LocalDate getAccrualDate() { return accrualDate; }
+    public void setAccrualDate(LocalDate accrualDate) { this.accrualDate = accrualDate; }
+
+    public long getLoansCharged() { return loansCharged; }
+    public void setLoansCharged(long loansCharged) { this.loansCharged = loansCharged; }
+
+    public BigDecimal getAmountCharged() { return amountCharged; }
+    public void setAmountCharged(BigDecimal amountCharged) { this.amountCharged = amountCharged; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+}
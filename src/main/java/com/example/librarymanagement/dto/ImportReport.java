@@ -0,0 +1,73 @@
+package com.example.librarymanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk import: counts plus the first rejected rows with the reason for each
+public class ImportReport {
+
+    // Enough to fix a broken file, without a million-row report when every row is wrong
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long processed;
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private long durationMillis;
+
+    // Constructors
+    public ImportReport() {}
+
+    public void recordImported(int count) {
+        processed += count;
+        imported += count;
+    }
+
+    public void recordFailure(int lineNumber, String message) {
+        processed++;
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(lineNumber, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    // Getters and Setters
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+
+    public static class RowError {
+        private int line;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public void setLine(int line) { this.line = line; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
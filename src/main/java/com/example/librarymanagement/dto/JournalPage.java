@@ -0,0 +1,31 @@
+package com.example.librarymanagement.dto;
+
+import com.example.librarymanagement.journal.JournalRecord;
+
+import java.util.List;
+
+// A run of journal records; the client passes nextOffset back as "from" to continue
+public class JournalPage {
+    private List<JournalRecord> records;
+    private long nextOffset;
+    private long durableOffset;
+
+    // Constructors
+    public JournalPage() {}
+
+    public JournalPage(List<JournalRecord> records, long nextOffset, long durableOffset) {
+        this.records = records;
+        this.nextOffset = nextOffset;
+        this.durableOffset = durableOffset;
+    }
+
+    // Getters and Setters
+    public List<JournalRecord> getRecords() { return records; }
+    public void setRecords(List<JournalRecord> records) { this.records = records; }
+
+    public long getNextOffset() { return nextOffset; }
+    public void setNextOffset(long nextOffset) { this.nextOffset = nextOffset; }
+
+    public long getDurableOffset() { return durableOffset; }
+    public void setDurableOffset(long durableOffset) { this.durableOffset = durableOffset; }
+}
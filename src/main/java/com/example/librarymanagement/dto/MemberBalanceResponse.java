@@ -0,0 +1,29 @@
+package com.example.librarymanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class MemberBalanceResponse {
+    private Long memberId;
+    private BigDecimal balance;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public MemberBalanceResponse() {}
+
+    public MemberBalanceResponse(Long memberId, BigDecimal balance, LocalDateTime updatedAt) {
+        this.memberId = memberId;
+        this.balance = balance;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
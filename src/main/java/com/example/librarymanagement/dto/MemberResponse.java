@@ -29,7 +29,7 @@ public class MemberResponse {
         response.membershipDate = member.getMembershipDate();
         response.isActive = member.isActive();
         response.createdAt = member.getCreatedAt();
-        response.borrowedBooksCount = member.getBorrowedBooks().size();
+        response.borrowedBooksCount = member.getActiveLoanCount();
         response.borrowedBooks = member.getBorrowedBooks().stream()
                 .map(BookResponse::from)
                 .collect(Collectors.toList());
@@ -46,7 +46,7 @@ public class MemberResponse {
         response.membershipDate = member.getMembershipDate();
         response.isActive = member.isActive();
         response.createdAt = member.getCreatedAt();
-        response.borrowedBooksCount = member.getBorrowedBooks().size();
+        response.borrowedBooksCount = member.getActiveLoanCount();
         return response;
     }
 
@@ -0,0 +1,68 @@
+package com.example.librarymanagement.dto;
+
+public class NotificationStatsResponse {
+    private boolean enabled;
+    private int queueDepth;
+    private int queueCapacity;
+    private int maxBatchSize;
+    private int lastBatchSize;
+    private double averageBatchSize;
+    private long delivered;
+    private long failed;
+    private long overflowed;
+    private double averageLatencyMillis;
+    private long maxLatencyMillis;
+
+    // Constructors
+    public NotificationStatsResponse() {}
+
+    public NotificationStatsResponse(boolean enabled, int queueDepth, int queueCapacity, int maxBatchSize,
+                                     int lastBatchSize, double averageBatchSize, long delivered, long failed,
+                                     long overflowed, double averageLatencyMillis, long maxLatencyMillis) {
+        this.enabled = enabled;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.lastBatchSize = lastBatchSize;
+        this.averageBatchSize = averageBatchSize;
+        this.delivered = delivered;
+        this.failed = failed;
+        this.overflowed = overflowed;
+        this.averageLatencyMillis = averageLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getQueueDepth() { return queueDepth; }
+    public void setQueueDepth(int queueDepth) { this.queueDepth = queueDepth; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+
+    public int getLastBatchSize() { return lastBatchSize; }
+    public void setLastBatchSize(int lastBatchSize) { this.lastBatchSize = lastBatchSize; }
+
+    public double getAverageBatchSize() { return averageBatchSize; }
+    public void setAverageBatchSize(double averageBatchSize) { this.averageBatchSize = averageBatchSize; }
+
+    public long getDelivered() { return delivered; }
+    public void setDelivered(long delivered) { this.delivered = delivered; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public long getOverflowed() { return overflowed; }
+    public void setOverflowed(long overflowed) { this.overflowed = overflowed; }
+
+    public double getAverageLatencyMillis() { return averageLatencyMillis; }
+    public void setAverageLatencyMillis(double averageLatencyMillis) { this.averageLatencyMillis = averageLatencyMillis; }
+
+    public long getMaxLatencyMillis() { return maxLatencyMillis; }
+    public void setMaxLatencyMillis(long maxLatencyMillis) { this.maxLatencyMillis = maxLatencyMillis; }
+}
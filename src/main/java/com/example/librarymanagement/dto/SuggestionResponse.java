@@ -0,0 +1,26 @@
+package com.example.librarymanagement.dto;
+
+public class SuggestionResponse {
+    private String text;
+    private String type;   // "title" or "author"
+    private int weight;
+
+    // Constructors
+    public SuggestionResponse() {}
+
+    public SuggestionResponse(String text, String type, int weight) {
+        this.text = text;
+        this.type = type;
+        this.weight = weight;
+    }
+
+    // Getters and Setters
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public int getWeight() { return weight; }
+    public void setWeight(int weight) { this.weight = weight; }
+}
@@ -0,0 +1,84 @@
+package com.example.librarymanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Most borrowed books and most searched terms over the trending window
+public class TrendingResponse {
+    private LocalDateTime generatedAt;
+    private long windowMinutes;
+    private List<BookItem> books = new ArrayList<>();
+    private List<SearchItem> searches = new ArrayList<>();
+
+    // Constructors
+    public TrendingResponse() {}
+
+    public TrendingResponse(LocalDateTime generatedAt, long windowMinutes, List<BookItem> books,
+                            List<SearchItem> searches) {
+        this.generatedAt = generatedAt;
+        this.windowMinutes = windowMinutes;
+        this.books = books;
+        this.searches = searches;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+
+    public long getWindowMinutes() { return windowMinutes; }
+    public void setWindowMinutes(long windowMinutes) { this.windowMinutes = windowMinutes; }
+
+    public List<BookItem> getBooks() { return books; }
+    public void setBooks(List<BookItem> books) { this.books = books; }
+
+    public List<SearchItem> getSearches() { return searches; }
+    public void setSearches(List<SearchItem> searches) { this.searches = searches; }
+
+    public static class BookItem {
+        private Long bookId;
+        private String title;
+        private String author;
+        private long borrows;
+
+        public BookItem() {}
+
+        public BookItem(Long bookId, String title, String author, long borrows) {
+            this.bookId = bookId;
+            this.title = title;
+            this.author = author;
+            this.borrows = borrows;
+        }
+
+        public Long getBookId() { return bookId; }
+        public void setBookId(Long bookId) { this.bookId = bookId; }
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+
+        public String getAuthor() { return author; }
+        public void setAuthor(String author) { this.author = author; }
+
+        public long getBorrows() { return borrows; }
+        public void setBorrows(long borrows) { this.borrows = borrows; }
+    }
+
+    // count is an estimate: it may be slightly high, never low
+    public static class SearchItem {
+        private String term;
+        private long count;
+
+        public SearchItem() {}
+
+        public SearchItem(String term, long count) {
+            this.term = term;
+            this.count = count;
+        }
+
+        public String getTerm() { return term; }
+        public void setTerm(String term) { this.term = term; }
+
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+    }
+}
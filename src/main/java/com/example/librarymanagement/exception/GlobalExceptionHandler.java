@@ -28,6 +28,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(MaxBooksExceededException.class)
+    public ResponseEntity<ApiResponse<Object>> handleMaxBooksExceeded(MaxBooksExceededException ex) {
+        System.out.println("❌ Exception: " + ex.getMessage());
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(BookAlreadyAvailableException.class)
     public ResponseEntity<ApiResponse<Object>> handleBookAlreadyAvailable(BookAlreadyAvailableException ex) {
         System.out.println("❌ Exception: " + ex.getMessage());
@@ -35,6 +42,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidPageRequest(InvalidPageRequestException ex) {
+        System.out.println("❌ Exception: " + ex.getMessage());
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
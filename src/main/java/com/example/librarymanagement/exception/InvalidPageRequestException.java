@@ -0,0 +1,7 @@
+package com.example.librarymanagement.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.librarymanagement.exception;
+
+public class MaxBooksExceededException extends RuntimeException {
+    public MaxBooksExceededException(String message) {
+        super(message);
+    }
+}
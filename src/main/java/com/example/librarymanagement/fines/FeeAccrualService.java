@@ -0,0 +1,196 @@
+package com.example.librarymanagement.fines;
+
+import com.example.librarymanagement.LibraryConfigProperties;
+import com.example.librarymanagement.dto.FeeAccrualReport;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Nightly late-fee accrual. Every loan still out past its due date at the start of a day is
+// charged one day of library.late-fee-per-day for that day. The id range of the overdue books is
+// split into chunks that run in parallel on a fork-join pool, each in its own transaction: read
+// the chunk's overdue loans, append their ledger rows with one JDBC batch, and add the totals to
+// the members' running balances. Chunks that already ran for the day are skipped through the
+// ledger's unique (book, day) key, so a run can be repeated (or a missed night backfilled) safely.
+@Service
+public class FeeAccrualService {
+
+    private static final String OVERDUE_ID_RANGE =
+            "SELECT MIN(id), MAX(id) FROM books WHERE is_available = FALSE AND due_date <= ?";
+
+    // Balance rows are created up front, so parallel chunks only ever UPDATE them
+    private static final String CREATE_MISSING_BALANCES =
+            "INSERT INTO member_balances (member_id, balance, updated_at) " +
+            "SELECT DISTINCT b.borrowed_by_member_id, 0, ? FROM books b " +
+            "WHERE b.is_available = FALSE AND b.due_date <= ? AND b.borrowed_by_member_id IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM member_balances mb WHERE mb.member_id = b.borrowed_by_member_id)";
+
+    private static final String OVERDUE_LOANS =
+            "SELECT id, borrowed_by_member_id, due_date FROM books " +
+            "WHERE id BETWEEN ? AND ? AND is_available = FALSE AND due_date <= ? AND borrowed_by_member_id IS NOT NULL";
+
+    private static final String ALREADY_CHARGED =
+            "SELECT book_id FROM fines WHERE accrual_date = ? AND book_id BETWEEN ? AND ?";
+
+    private static final String INSERT_FINE =
+            "INSERT INTO fines (member_id, book_id, accrual_date, days_overdue, amount, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String ADD_TO_BALANCE =
+            "UPDATE member_balances SET balance = balance + ?, updated_at = ? WHERE member_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LibraryConfigProperties config;
+    private final int chunkSize;
+    // Every worker holds a connection while its chunk runs, so keep this below the pool size
+    private final ForkJoinPool pool;
+
+    public FeeAccrualService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             LibraryConfigProperties config,
+                             @Value("${library.fines.chunk-size:5000}") int chunkSize,
+                             @Value("${library.fines.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = config;
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Scheduled(cron = "${library.fines.accrual-cron:0 5 0 * * *}")
+    public void accrueToday() {
+        accrue(LocalDate.now());
+    }
+
+    // One run at a time; a second caller waits and then finds the day already charged
+    public synchronized FeeAccrualReport accrue(LocalDate day) {
+        long start = System.currentTimeMillis();
+        // Overdue for the whole day: due at or before its first moment
+        Timestamp cutoff = Timestamp.valueOf(day.atStartOfDay());
+        BigDecimal fee = BigDecimal.valueOf(config.getLateFeePerDay()).setScale(2, RoundingMode.HALF_UP);
+
+        Long[] range = jdbcTemplate.queryForObject(OVERDUE_ID_RANGE,
+                (rs, rowNum) -> new Long[]{rs.getObject(1, Long.class), rs.getObject(2, Long.class)}, cutoff);
+        Totals totals = Totals.NONE;
+        int chunks = 0;
+        if (range != null && range[0] != null && fee.signum() > 0) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(CREATE_MISSING_BALANCES, now, cutoff));
+            chunks = (int) ((range[1] - range[0]) / chunkSize + 1);
+            totals = pool.invoke(new AccrualTask(range[0], range[1], day, cutoff, fee));
+        }
+
+        FeeAccrualReport report = new FeeAccrualReport(day, totals.loans, totals.amount, chunks,
+                System.currentTimeMillis() - start);
+        System.out.println("💰 Late fees for " + day + ": " + report.getLoansCharged() + " loans charged $" +
+                report.getAmountCharged() + " in " + chunks + " chunks, " + report.getDurationMillis() + " ms");
+        return report;
+    }
+
+    // Charges the overdue loans among books fromId..toId, all or nothing
+    private Totals accrueChunk(long fromId, long toId, LocalDate day, Timestamp cutoff, BigDecimal fee) {
+        return transactionTemplate.execute(status -> {
+            Date accrualDate = Date.valueOf(day);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            LocalDateTime endOfDay = day.plusDays(1).atStartOfDay();
+            Set<Long> charged = new HashSet<>(jdbcTemplate.queryForList(ALREADY_CHARGED, Long.class, accrualDate, fromId, toId));
+
+            List<Object[]> fines = new ArrayList<>();
+            // Sorted, so concurrent chunks lock shared balance rows in the same order and cannot deadlock
+            Map<Long, BigDecimal> perMember = new TreeMap<>();
+            jdbcTemplate.query(OVERDUE_LOANS, (RowCallbackHandler) rs -> {
+                long bookId = rs.getLong(1);
+                if (charged.contains(bookId)) {
+                    return;
+                }
+                long memberId = rs.getLong(2);
+                // Counting this day: due 1 March 15:00 makes 2 March day 1
+                long daysOverdue = ChronoUnit.DAYS.between(rs.getTimestamp(3).toLocalDateTime(), endOfDay);
+                fines.add(new Object[]{memberId, bookId, accrualDate, (int) daysOverdue, fee, now});
+                perMember.merge(memberId, fee, BigDecimal::add);
+            }, fromId, toId, cutoff);
+            if (fines.isEmpty()) {
+                return Totals.NONE;
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_FINE, fines);
+            List<Object[]> balances = new ArrayList<>(perMember.size());
+            perMember.forEach((memberId, amount) -> balances.add(new Object[]{amount, now, memberId}));
+            jdbcTemplate.batchUpdate(ADD_TO_BALANCE, balances);
+            return new Totals(fines.size(), fee.multiply(BigDecimal.valueOf(fines.size())));
+        });
+    }
+
+    // Halves the id range until it fits in one chunk
+    private final class AccrualTask extends RecursiveTask<Totals> {
+        private final long fromId;
+        private final long toId;
+        private final LocalDate day;
+        private final Timestamp cutoff;
+        private final BigDecimal fee;
+
+        AccrualTask(long fromId, long toId, LocalDate day, Timestamp cutoff, BigDecimal fee) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.day = day;
+            this.cutoff = cutoff;
+            this.fee = fee;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (toId - fromId < chunkSize) {
+                return accrueChunk(fromId, toId, day, cutoff, fee);
+            }
+            // Split on a chunk boundary, so no leaf is left with a sliver of a chunk
+            long chunksInRange = (toId - fromId) / chunkSize + 1;
+            long middle = fromId + (chunksInRange / 2) * chunkSize;
+            AccrualTask left = new AccrualTask(fromId, middle - 1, day, cutoff, fee);
+            left.fork();
+            Totals right = new AccrualTask(middle, toId, day, cutoff, fee).compute();
+            return left.join().plus(right);
+        }
+    }
+
+    private static final class Totals {
+        static final Totals NONE = new Totals(0, BigDecimal.ZERO);
+
+        final long loans;
+        final BigDecimal amount;
+
+        Totals(long loans, BigDecimal amount) {
+            this.loans = loans;
+            this.amount = amount;
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(loans + other.loans, amount.add(other.amount));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.librarymanagement.fines;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One day of late fee for one overdue loan. The ledger is append-only: rows are written in
+// batches by FeeAccrualService and never updated, and the unique (book, day) key makes a re-run
+// of the same night a no-op. Plain id columns instead of associations, so deleting a book or a
+// member does not rewrite its history.
+@Entity
+@Table(name = "fines",
+        uniqueConstraints = @UniqueConstraint(name = "uk_fines_book_day", columnNames = {"book_id", "accrual_date"}),
+        indexes = @Index(name = "idx_fines_member", columnList = "member_id"))
+public class Fine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "accrual_date", nullable = false)
+    private LocalDate accrualDate;
+
+    @Column(name = "days_overdue", nullable = false)
+    private int daysOverdue;
+
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public Fine() {}
+
+    // Getters (no setters: ledger rows do not change)
+    public Long getId() { return id; }
+    public Long getMemberId() { return memberId; }
+    public Long getBookId() { return bookId; }
+    public LocalDate getAccrualDate() { return accrualDate; }
+    public int getDaysOverdue() { return daysOverdue; }
+    public BigDecimal getAmount() { return amount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
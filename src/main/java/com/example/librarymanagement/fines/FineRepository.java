@@ -0,0 +1,15 @@
+package com.example.librarymanagement.fines;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FineRepository extends JpaRepository<Fine, Long> {
+
+    List<Fine> findByMemberIdOrderByAccrualDateDesc(Long memberId);
+
+    long countByAccrualDate(LocalDate accrualDate);
+}
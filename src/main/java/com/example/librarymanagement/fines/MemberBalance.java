@@ -0,0 +1,31 @@
+package com.example.librarymanagement.fines;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Running total of a member's fines, kept next to the ledger so "what does this member owe"
+// is a primary-key read instead of a SUM over the fines table. Only FeeAccrualService writes it,
+// in the same transaction as the ledger rows it adds up.
+@Entity
+@Table(name = "member_balances")
+public class MemberBalance {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Column(name = "balance", nullable = false, precision = 12, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public MemberBalance() {}
+
+    // Getters
+    public Long getMemberId() { return memberId; }
+    public BigDecimal getBalance() { return balance; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
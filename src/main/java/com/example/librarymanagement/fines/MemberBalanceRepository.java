@@ -0,0 +1,8 @@
+package com.example.librarymanagement.fines;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MemberBalanceRepository extends JpaRepository<MemberBalance, Long> {
+}
@@ -0,0 +1,168 @@
+package com.example.librarymanagement.journal;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.MemberEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// One committed mutation as stored in the journal. Binary payload:
+//   type (1 byte) | timestamp (8) | presence flags (1) | bookId (8) | memberId (8) | dueDate (8)
+//   | title | author | memberName | email     (strings: unsigned 2-byte length + UTF-8)
+// where only the fields flagged as present are written, so a return costs about 40 bytes.
+public class JournalRecord {
+
+    public enum Type { BOOK_ADDED, BOOK_DELETED, BOOK_BORROWED, BOOK_RETURNED, MEMBER_ADDED, MEMBER_DEACTIVATED }
+
+    private static final int BOOK_ID = 1;
+    private static final int MEMBER_ID = 1 << 1;
+    private static final int DUE_DATE = 1 << 2;
+    private static final int TITLE = 1 << 3;
+    private static final int AUTHOR = 1 << 4;
+    private static final int MEMBER_NAME = 1 << 5;
+    private static final int EMAIL = 1 << 6;
+
+    private static final Type[] TYPES = Type.values();
+
+    private long offset = -1;
+    private long nextOffset = -1;
+    private final Type type;
+    private final long timestamp;
+    private final Long bookId;
+    private final Long memberId;
+    private final LocalDateTime dueDate;
+    private final String title;
+    private final String author;
+    private final String memberName;
+    private final String email;
+
+    public JournalRecord(Type type, long timestamp, Long bookId, Long memberId, LocalDateTime dueDate,
+                         String title, String author, String memberName, String email) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.bookId = bookId;
+        this.memberId = memberId;
+        this.dueDate = dueDate;
+        this.title = title;
+        this.author = author;
+        this.memberName = memberName;
+        this.email = email;
+    }
+
+    public static JournalRecord from(BookEvent event) {
+        Type type = switch (event.getType()) {
+            case ADDED -> Type.BOOK_ADDED;
+            case DELETED -> Type.BOOK_DELETED;
+            case BORROWED -> Type.BOOK_BORROWED;
+            case RETURNED -> Type.BOOK_RETURNED;
+        };
+        // Adds and deletes carry the catalog fields, loans the borrower and due date
+        boolean catalog = type == Type.BOOK_ADDED || type == Type.BOOK_DELETED;
+        return new JournalRecord(type, System.currentTimeMillis(), event.getBookId(), event.getMemberId(),
+                type == Type.BOOK_BORROWED ? event.getDueDate() : null,
+                catalog ? event.getTitle() : null, catalog ? event.getAuthor() : null,
+                type == Type.BOOK_BORROWED ? event.getMemberName() : null, null);
+    }
+
+    public static JournalRecord from(MemberEvent event) {
+        Type type = event.getType() == MemberEvent.Type.ADDED ? Type.MEMBER_ADDED : Type.MEMBER_DEACTIVATED;
+        return new JournalRecord(type, System.currentTimeMillis(), null, event.getMemberId(), null, null, null,
+                type == Type.MEMBER_ADDED ? event.getName() : null, type == Type.MEMBER_ADDED ? event.getEmail() : null);
+    }
+
+    byte[] encode() {
+        byte[] titleBytes = utf8(title);
+        byte[] authorBytes = utf8(author);
+        byte[] nameBytes = utf8(memberName);
+        byte[] emailBytes = utf8(email);
+        int flags = (bookId != null ? BOOK_ID : 0) | (memberId != null ? MEMBER_ID : 0) | (dueDate != null ? DUE_DATE : 0)
+                | (titleBytes != null ? TITLE : 0) | (authorBytes != null ? AUTHOR : 0)
+                | (nameBytes != null ? MEMBER_NAME : 0) | (emailBytes != null ? EMAIL : 0);
+
+        int size = 1 + 8 + 1 + (bookId != null ? 8 : 0) + (memberId != null ? 8 : 0) + (dueDate != null ? 8 : 0)
+                + sizeOf(titleBytes) + sizeOf(authorBytes) + sizeOf(nameBytes) + sizeOf(emailBytes);
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put((byte) type.ordinal()).putLong(timestamp).put((byte) flags);
+        if (bookId != null) {
+            buffer.putLong(bookId);
+        }
+        if (memberId != null) {
+            buffer.putLong(memberId);
+        }
+        if (dueDate != null) {
+            buffer.putLong(dueDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        putString(buffer, titleBytes);
+        putString(buffer, authorBytes);
+        putString(buffer, nameBytes);
+        putString(buffer, emailBytes);
+        return buffer.array();
+    }
+
+    static JournalRecord decode(ByteBuffer buffer, long offset, long nextOffset) {
+        Type type = TYPES[buffer.get()];
+        long timestamp = buffer.getLong();
+        int flags = buffer.get();
+        Long bookId = (flags & BOOK_ID) != 0 ? buffer.getLong() : null;
+        Long memberId = (flags & MEMBER_ID) != 0 ? buffer.getLong() : null;
+        LocalDateTime dueDate = (flags & DUE_DATE) != 0
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneId.systemDefault()) : null;
+        String title = (flags & TITLE) != 0 ? getString(buffer) : null;
+        String author = (flags & AUTHOR) != 0 ? getString(buffer) : null;
+        String memberName = (flags & MEMBER_NAME) != 0 ? getString(buffer) : null;
+        String email = (flags & EMAIL) != 0 ? getString(buffer) : null;
+        JournalRecord record = new JournalRecord(type, timestamp, bookId, memberId, dueDate, title, author, memberName, email);
+        record.offset = offset;
+        record.nextOffset = nextOffset;
+        return record;
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Journal strings are limited to 65535 bytes");
+        }
+        return bytes;
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return bytes != null ? 2 + bytes.length : 0;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes != null) {
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Getters
+    public long getOffset() { return offset; }
+    public long getNextOffset() { return nextOffset; }
+    public Type getType() { return type; }
+    public long getTimestamp() { return timestamp; }
+    public Long getBookId() { return bookId; }
+    public Long getMemberId() { return memberId; }
+    public LocalDateTime getDueDate() { return dueDate; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public String getMemberName() { return memberName; }
+    public String getEmail() { return email; }
+
+    @Override
+    public String toString() {
+        return "JournalRecord{offset=" + offset + ", type=" + type +
+                (bookId != null ? ", bookId=" + bookId : "") + (memberId != null ? ", memberId=" + memberId : "") + "}";
+    }
+}
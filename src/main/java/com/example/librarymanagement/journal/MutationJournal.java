@@ -0,0 +1,443 @@
+package com.example.librarymanagement.journal;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.MemberEvent;
+import com.example.librarymanagement.RowsImportedEvent;
+import com.example.librarymanagement.exception.InvalidPageRequestException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only journal of every committed change to books and members, for change capture and
+// for replaying state without scanning tables. Records go into memory-mapped segment files of
+// segment-size bytes, named after the journal offset of their first byte, framed as
+//   payload length (4 bytes) | CRC32 of the payload (4) | payload (see JournalRecord)
+// and a zero length marks the end of the data in a segment. Offsets are positions in the
+// concatenated segments, so a consumer's position is one long.
+// Durability is group commit: a flusher thread forces the mapped pages to disk every
+// flush-interval and appenders wait for the flush that covers their record, so one fsync is
+// shared by everything appended in that interval. Readers only ever see flushed records.
+// On startup the tail of the last segment is checked record by record, and a write torn by a
+// crash is cut off.
+@Component
+public class MutationJournal {
+
+    private static final int HEADER = 8;
+    private static final String SUFFIX = ".journal";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+
+    // Segments by base offset; sealed ones are mapped read-only on first read
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private Segment active;
+    private long writeOffset;
+    private volatile long durableOffset;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public MutationJournal(@Value("${library.journal.enabled:true}") boolean enabled,
+                           @Value("${library.journal.dir:data/journal}") Path directory,
+                           @Value("${library.journal.segment-size:67108864}") int segmentSize,
+                           @Value("${library.journal.flush-interval:PT0.01S}") Duration flushInterval) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        if (enabled) {
+            open();
+        }
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).forEach(file -> {
+                    String name = file.getFileName().toString();
+                    long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                    segments.put(base, new Segment(base, file));
+                });
+            }
+            if (segments.isEmpty()) {
+                active = createSegment(0);
+            } else {
+                active = segments.lastEntry().getValue();
+                active.mapForWriting(segmentSize);
+            }
+            writeOffset = active.base + recoverEnd(active);
+            durableOffset = writeOffset;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal in " + directory, e);
+        }
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        System.out.println("📒 Journal opened in " + directory + " at offset " + writeOffset +
+                " (" + segments.size() + " segments)");
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        flusher.join(5_000);
+        lock.lock();
+        try {
+            active.buffer.force();
+            durableOffset = writeOffset;
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    // Only committed changes are journaled
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        if (enabled) {
+            safeAppend(List.of(JournalRecord.from(event)));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberEvent(MemberEvent event) {
+        if (enabled) {
+            safeAppend(List.of(JournalRecord.from(event)));
+        }
+    }
+
+    // Bulk-imported rows come a committed chunk at a time, journaled as ordinary adds
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRowsImported(RowsImportedEvent event) {
+        if (enabled) {
+            List<JournalRecord> records = new ArrayList<>(event.getBooks().size() + event.getMembers().size());
+            event.getBooks().forEach(book -> records.add(JournalRecord.from(book)));
+            event.getMembers().forEach(member -> records.add(JournalRecord.from(member)));
+            safeAppend(records);
+        }
+    }
+
+    // The change is already committed, so a journal failure is reported rather than failing the request
+    private void safeAppend(List<JournalRecord> records) {
+        try {
+            appendAll(records);
+        } catch (RuntimeException e) {
+            System.out.println("❌ Could not journal " + (records.size() == 1 ? records.get(0) : records.size() + " records") +
+                    ": " + e.getMessage());
+        }
+    }
+
+    // Returns the record's offset once it is on disk
+    public long append(JournalRecord record) {
+        return appendAll(List.of(record));
+    }
+
+    // Writes the records back to back and waits for one flush covering all of them, instead of
+    // one flush interval per record. Returns the offset of the first.
+    public long appendAll(List<JournalRecord> records) {
+        List<byte[]> payloads = new ArrayList<>(records.size());
+        for (JournalRecord record : records) {
+            byte[] payload = record.encode();
+            if (HEADER + payload.length + 4 > segmentSize) {
+                throw new IllegalArgumentException("Journal record of " + payload.length + " bytes does not fit in a segment");
+            }
+            payloads.add(payload);
+        }
+        long first = -1;
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Journal is not open");
+            }
+            for (byte[] payload : payloads) {
+                // Keep room for the zero length that ends a segment
+                if (writeOffset - active.base + HEADER + payload.length + 4 > segmentSize) {
+                    roll();
+                }
+                long offset = writeOffset;
+                int position = (int) (offset - active.base);
+                active.buffer.putInt(position + 4, crc(payload));
+                active.buffer.put(position + HEADER, payload);
+                // Length last: a reader that sees it sees a complete record
+                active.buffer.putInt(position, payload.length);
+                writeOffset = offset + HEADER + payload.length;
+                if (first < 0) {
+                    first = offset;
+                }
+            }
+            awaitFlush(writeOffset);
+        } finally {
+            lock.unlock();
+        }
+        return first;
+    }
+
+    // Group commit: wait for the flusher instead of forcing the file per record
+    private void awaitFlush(long end) {
+        boolean interrupted = false;
+        while (durableOffset < end && running) {
+            try {
+                flushed.await(10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(flushIntervalNanos);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long target;
+            MappedByteBuffer buffer;
+            lock.lock();
+            try {
+                target = writeOffset;
+                buffer = active.buffer;
+            } finally {
+                lock.unlock();
+            }
+            if (target == durableOffset) {
+                continue;
+            }
+            // Outside the lock, so appends carry on while the pages are written out
+            buffer.force();
+            lock.lock();
+            try {
+                durableOffset = Math.max(durableOffset, target);
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Seals the active segment (forced to disk first) and starts the next one at the current offset
+    private void roll() {
+        active.buffer.force();
+        active.seal();
+        durableOffset = Math.max(durableOffset, writeOffset);
+        flushed.signalAll();
+        try {
+            active = createSegment(writeOffset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment", e);
+        }
+    }
+
+    private Segment createSegment(long base) throws IOException {
+        Segment segment = new Segment(base, directory.resolve(String.format("%020d", base) + SUFFIX));
+        segment.mapForWriting(segmentSize);
+        segments.put(base, segment);
+        return segment;
+    }
+
+    // Walks the records of a segment and returns the position after the last intact one.
+    // Everything after it was never acknowledged and is zeroed, so a torn record cannot
+    // reappear behind shorter records written over it later.
+    private int recoverEnd(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER, payload);
+            if (buffer.getInt(position + 4) != crc(payload)) {
+                break;
+            }
+            position += HEADER + length;
+        }
+
+        // Chunk by chunk, writing only the ones that are not already zero
+        byte[] zeros = new byte[64 * 1024];
+        byte[] chunk = new byte[zeros.length];
+        boolean dirty = false;
+        for (int start = position; start < buffer.capacity(); start += chunk.length) {
+            int length = Math.min(chunk.length, buffer.capacity() - start);
+            buffer.get(start, chunk, 0, length);
+            if (!Arrays.equals(chunk, 0, length, zeros, 0, length)) {
+                buffer.put(start, zeros, 0, length);
+                dirty = true;
+            }
+        }
+        if (dirty) {
+            buffer.force();
+            System.out.println("⚠️ Journal segment " + segment.file.getFileName() +
+                    " had an incomplete tail, truncated at " + position);
+        }
+        return position;
+    }
+
+    // Up to maxRecords flushed records starting at fromOffset, which must be 0, the offset of a
+    // record, or the nextOffset of an earlier read
+    public List<JournalRecord> read(long fromOffset, int maxRecords) {
+        List<JournalRecord> records = new ArrayList<>();
+        if (enabled) {
+            scan(fromOffset, maxRecords, records::add);
+        }
+        return records;
+    }
+
+    // Every flushed record from fromOffset on, in order
+    public long replay(long fromOffset, Consumer<JournalRecord> consumer) {
+        return enabled ? scan(fromOffset, Integer.MAX_VALUE, consumer) : fromOffset;
+    }
+
+    // Like read, but waits up to timeout for something new when the consumer has caught up
+    public List<JournalRecord> tail(long fromOffset, int maxRecords, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        lock.lock();
+        try {
+            while (enabled && durableOffset <= fromOffset && running) {
+                long wait = deadline - System.nanoTime();
+                if (wait <= 0) {
+                    break;
+                }
+                flushed.awaitNanos(wait);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return read(fromOffset, maxRecords);
+    }
+
+    public long startOffset() {
+        return segments.isEmpty() ? 0 : segments.firstKey();
+    }
+
+    public long durableOffset() {
+        return durableOffset;
+    }
+
+    private long scan(long fromOffset, int maxRecords, Consumer<JournalRecord> consumer) {
+        if (fromOffset < 0) {
+            throw new InvalidPageRequestException("Journal offset must not be negative");
+        }
+        long limit = durableOffset;
+        long offset = Math.max(fromOffset, startOffset());
+        int count = 0;
+        while (offset < limit && count < maxRecords) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+            Segment segment = entry.getValue();
+            ByteBuffer buffer = segment.readBuffer();
+            // A segment ends exactly where the next one starts, so floorEntry always lands on the
+            // segment holding the record and anything that does not frame up is a bad offset
+            int position = (int) (offset - segment.base);
+            int length = position + HEADER <= buffer.capacity() ? buffer.getInt(position) : 0;
+            if (length <= 0 || position + HEADER + length > buffer.capacity()) {
+                throw new InvalidPageRequestException("Offset " + fromOffset + " is not a journal record boundary");
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER, payload);
+            if (buffer.getInt(position + 4) != crc(payload)) {
+                throw new InvalidPageRequestException("Offset " + fromOffset + " is not a journal record boundary");
+            }
+            long next = offset + HEADER + length;
+            consumer.accept(JournalRecord.decode(ByteBuffer.wrap(payload), offset, next));
+            offset = next;
+            count++;
+        }
+        return offset;
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        final long base;
+        final Path file;
+        FileChannel channel;
+        volatile MappedByteBuffer buffer;
+
+        Segment(long base, Path file) {
+            this.base = base;
+            this.file = file;
+        }
+
+        void mapForWriting(int size) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+        }
+
+        // A segment that is no longer written keeps its mapping for readers
+        void seal() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Sealed segments left by an earlier run are mapped when first read.
+        // A duplicate per read keeps the shared mapping's position untouched.
+        ByteBuffer readBuffer() {
+            MappedByteBuffer mapped = buffer;
+            if (mapped == null) {
+                synchronized (this) {
+                    if (buffer == null) {
+                        try (FileChannel readChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                            buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                    mapped = buffer;
+                }
+            }
+            return mapped.duplicate();
+        }
+
+        void close() {
+            if (channel != null && channel.isOpen()) {
+                seal();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.librarymanagement.notification;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default channel until a real email or SMS gateway is plugged in: prints the digest
+@Component
+public class LoggingNotificationChannel implements NotificationChannel {
+
+    @Override
+    public void deliver(String memberName, List<String> messages) {
+        if (messages.size() == 1) {
+            System.out.println("📧 NOTIFICATION: " + memberName + " " + messages.get(0));
+        } else {
+            System.out.println("📧 NOTIFICATION DIGEST for " + memberName + ": " + String.join("; ", messages));
+        }
+    }
+}
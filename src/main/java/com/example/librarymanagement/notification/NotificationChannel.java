@@ -0,0 +1,11 @@
+package com.example.librarymanagement.notification;
+
+import java.util.List;
+
+// Where notifications finally go (email, SMS, ...). Called by NotificationDispatcher on its own
+// thread, with every message a member has pending in one digest. Throwing leaves the messages in
+// the outbox, to be delivered again later: delivery is at least once.
+public interface NotificationChannel {
+
+    void deliver(String memberName, List<String> messages);
+}
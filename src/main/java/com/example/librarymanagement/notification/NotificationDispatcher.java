@@ -0,0 +1,213 @@
+package com.example.librarymanagement.notification;
+
+import com.example.librarymanagement.LibraryConfigProperties;
+import com.example.librarymanagement.dto.NotificationStatsResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Delivers notifications off the request path. Committed outbox rows are handed over through a
+// bounded queue; one worker thread takes them in batches (up to batch-size, waiting at most linger
+// for a batch to fill), merges each member's messages into a single digest and passes it to the
+// NotificationChannel, then deletes the delivered rows. A full queue never blocks a borrow: the
+// row simply stays in the outbox until the periodic sweep finds room for it, which is also how
+// rows left behind by a crash or a failed delivery are retried.
+@Component
+public class NotificationDispatcher {
+
+    private final OutboxRepository outboxRepository;
+    private final NotificationChannel channel;
+    private final LibraryConfigProperties config;
+    private final BlockingQueue<NotificationQueuedEvent> queue;
+    // Outbox ids queued or being delivered, so the sweep does not queue them a second time
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Duration sweepMinAge;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedMessages = new LongAdder();
+    private final LongAdder totalLatencyMillis = new LongAdder();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+    private volatile int lastBatchSize;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public NotificationDispatcher(OutboxRepository outboxRepository, NotificationChannel channel,
+                                  LibraryConfigProperties config,
+                                  @Value("${library.notifications.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${library.notifications.batch-size:100}") int batchSize,
+                                  @Value("${library.notifications.linger:PT0.2S}") Duration linger,
+                                  @Value("${library.notifications.sweep-min-age:PT30S}") Duration sweepMinAge) {
+        this.outboxRepository = outboxRepository;
+        this.channel = channel;
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.sweepMinAge = sweepMinAge;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!config.isEnableNotifications() || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+        sweep(); // whatever the last run left undelivered
+        System.out.println("📬 Notification dispatcher started");
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(5_000);
+        }
+    }
+
+    // After commit only: a rolled-back borrow has no outbox row and sends nothing
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationQueued(NotificationQueuedEvent event) {
+        if (!running || !inFlight.add(event.getOutboxId())) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            // Backpressure: the outbox row waits for the sweep instead of the caller waiting here
+            inFlight.remove(event.getOutboxId());
+            overflowed.increment();
+        }
+    }
+
+    // Rows younger than sweep-min-age are skipped: their commit hook is most likely about to queue them
+    @Scheduled(fixedDelayString = "${library.notifications.sweep-interval:PT1M}")
+    public void sweep() {
+        int room = queue.remainingCapacity();
+        if (!running || room == 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(sweepMinAge);
+        int queued = 0;
+        for (OutboxMessage message : outboxRepository.findByCreatedAtBeforeOrderByIdAsc(cutoff, PageRequest.of(0, room))) {
+            long createdAt = message.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (inFlight.add(message.getId())) {
+                if (!queue.offer(new NotificationQueuedEvent(message.getId(), message.getMemberName(),
+                        message.getMessage(), createdAt))) {
+                    inFlight.remove(message.getId());
+                    break;
+                }
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            System.out.println("📬 Re-queued " + queued + " undelivered notifications from the outbox");
+        }
+    }
+
+    private void run() {
+        List<NotificationQueuedEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                NotificationQueuedEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0) {
+                        break;
+                    }
+                    NotificationQueuedEvent next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Keep the worker alive; the outbox still has whatever was not delivered
+                System.out.println("❌ Notification dispatch failed: " + e.getMessage());
+            } finally {
+                batch.forEach(event -> inFlight.remove(event.getOutboxId()));
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<NotificationQueuedEvent> batch) {
+        Map<String, List<NotificationQueuedEvent>> digests = new LinkedHashMap<>();
+        for (NotificationQueuedEvent event : batch) {
+            digests.computeIfAbsent(event.getMemberName(), name -> new ArrayList<>()).add(event);
+        }
+
+        List<Long> deliveredIds = new ArrayList<>(batch.size());
+        for (Map.Entry<String, List<NotificationQueuedEvent>> digest : digests.entrySet()) {
+            List<NotificationQueuedEvent> events = digest.getValue();
+            try {
+                channel.deliver(digest.getKey(), events.stream().map(NotificationQueuedEvent::getMessage).toList());
+            } catch (RuntimeException e) {
+                failed.add(events.size());
+                System.out.println("❌ Could not notify " + digest.getKey() + ", will retry: " + e.getMessage());
+                continue;
+            }
+            long now = System.currentTimeMillis();
+            for (NotificationQueuedEvent event : events) {
+                long latency = now - event.getCreatedAtMillis();
+                totalLatencyMillis.add(latency);
+                maxLatencyMillis.accumulateAndGet(latency, Math::max);
+                deliveredIds.add(event.getOutboxId());
+            }
+        }
+
+        delivered.add(deliveredIds.size());
+        batches.increment();
+        batchedMessages.add(batch.size());
+        lastBatchSize = batch.size();
+        if (!deliveredIds.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(deliveredIds);
+        }
+    }
+
+    public NotificationStatsResponse stats() {
+        long batchCount = batches.sum();
+        long deliveredCount = delivered.sum();
+        return new NotificationStatsResponse(running, queue.size(), queue.size() + queue.remainingCapacity(),
+                batchSize, lastBatchSize, batchCount == 0 ? 0 : (double) batchedMessages.sum() / batchCount,
+                deliveredCount, failed.sum(), overflowed.sum(),
+                deliveredCount == 0 ? 0 : (double) totalLatencyMillis.sum() / deliveredCount, maxLatencyMillis.get());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.librarymanagement.notification;
+
+// Published by NotificationService once the outbox row is written; handed to the dispatcher
+// only after the surrounding transaction commits
+public class NotificationQueuedEvent {
+
+    private final Long outboxId;
+    private final String memberName;
+    private final String message;
+    private final long createdAtMillis;
+
+    public NotificationQueuedEvent(Long outboxId, String memberName, String message, long createdAtMillis) {
+        this.outboxId = outboxId;
+        this.memberName = memberName;
+        this.message = message;
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    // Getters
+    public Long getOutboxId() { return outboxId; }
+    public String getMemberName() { return memberName; }
+    public String getMessage() { return message; }
+    public long getCreatedAtMillis() { return createdAtMillis; }
+}
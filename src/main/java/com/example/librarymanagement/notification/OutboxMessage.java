@@ -0,0 +1,40 @@
+package com.example.librarymanagement.notification;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A notification waiting to be delivered. Written in the same transaction as the change it is
+// about, so it exists if and only if that change committed, and deleted once delivered. Rows
+// left behind by a crash (or by a full queue) are picked up by NotificationDispatcher.sweep.
+@Entity
+@Table(name = "notification_outbox")
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_name", nullable = false, length = 50)
+    private String memberName;
+
+    @Column(name = "message", nullable = false, length = 8000)  // a 50-book batch checkout lists every title
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public OutboxMessage() {}
+
+    public OutboxMessage(String memberName, String message) {
+        this.memberName = memberName;
+        this.message = message;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getMemberName() { return memberName; }
+    public String getMessage() { return message; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,15 @@
+package com.example.librarymanagement.notification;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Oldest first, so a backlog drains in the order it was written
+    List<OutboxMessage> findByCreatedAtBeforeOrderByIdAsc(LocalDateTime createdBefore, Pageable pageable);
+}
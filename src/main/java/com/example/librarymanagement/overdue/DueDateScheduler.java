@@ -0,0 +1,143 @@
+package com.example.librarymanagement.overdue;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.NotificationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+// Due-date reminders and overdue notices without scanning the books table: every open loan sits
+// in a timer wheel under its book id, first at its reminder time (lead-time before the due date),
+// then at the due date itself. Each tick only touches the loans that fall due. The wheel is loaded
+// at startup and follows committed borrows, returns and deletes; loans already overdue at startup
+// are not notified again.
+@Component
+public class DueDateScheduler {
+
+    private final BookRepository bookRepository;
+    private final NotificationService notificationService;
+    private final long tickMillis;
+    private final Duration leadTime;
+
+    private TimerWheel<Loan> wheel;
+
+    public DueDateScheduler(BookRepository bookRepository, NotificationService notificationService,
+                            @Value("${library.reminders.tick:PT1M}") Duration tick,
+                            @Value("${library.reminders.lead-time:P1D}") Duration leadTime) {
+        this.bookRepository = bookRepository;
+        this.notificationService = notificationService;
+        this.tickMillis = tick.toMillis();
+        this.leadTime = leadTime;
+        this.wheel = new TimerWheel<>(currentTick());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> loans = bookRepository.findOpenLoanDueDates();
+        int overdue = 0;
+        synchronized (this) {
+            wheel = new TimerWheel<>(currentTick());
+            for (Object[] row : loans) {
+                if (!schedule(new Loan((Long) row[0], (String) row[1], (String) row[2], (LocalDateTime) row[3], true))) {
+                    overdue++;
+                }
+            }
+        }
+        System.out.println("⏰ Due-date wheel loaded with " + (loans.size() - overdue) + " loans (" +
+                overdue + " already overdue)");
+    }
+
+    // Only committed loans are scheduled
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        switch (event.getType()) {
+            case BORROWED -> {
+                if (event.getDueDate() != null) {
+                    Loan loan = new Loan(event.getBookId(), event.getTitle(), event.getMemberName(), event.getDueDate(), true);
+                    synchronized (this) {
+                        schedule(loan);
+                    }
+                }
+            }
+            case RETURNED, DELETED -> {
+                synchronized (this) {
+                    wheel.cancel(event.getBookId());
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${library.reminders.tick:PT1M}")
+    public void tick() {
+        List<Loan> due = new ArrayList<>();
+        synchronized (this) {
+            for (Loan loan : wheel.advanceTo(currentTick())) {
+                due.add(loan);
+                // Next stop is the due date; if that has passed too (a late tick), the notice goes out now
+                if (loan.reminder && !wheel.schedule(loan.bookId, toTick(loan.dueDate), loan.overdue())) {
+                    due.add(loan.overdue());
+                }
+            }
+        }
+        // Sent outside the lock, so a slow channel does not hold up borrows and returns
+        for (Loan loan : due) {
+            if (loan.reminder) {
+                notificationService.sendDueSoonNotification(loan.memberName, loan.title, loan.dueDate);
+            } else {
+                notificationService.sendOverdueNotification(loan.memberName, loan.title);
+            }
+        }
+    }
+
+    public synchronized int scheduledCount() {
+        return wheel.size();
+    }
+
+    // Returns false if the loan is already overdue; a reminder whose time has passed becomes the overdue notice
+    private boolean schedule(Loan loan) {
+        if (loan.reminder && wheel.schedule(loan.bookId, toTick(loan.dueDate.minus(leadTime)), loan)) {
+            return true;
+        }
+        return wheel.schedule(loan.bookId, toTick(loan.dueDate), loan.overdue());
+    }
+
+    private long currentTick() {
+        return Math.floorDiv(System.currentTimeMillis(), tickMillis);
+    }
+
+    // Rounded up, so nothing fires before its time
+    private long toTick(LocalDateTime time) {
+        long millis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+    }
+
+    private static final class Loan {
+        final Long bookId;
+        final String title;
+        final String memberName;
+        final LocalDateTime dueDate;
+        final boolean reminder;
+
+        Loan(Long bookId, String title, String memberName, LocalDateTime dueDate, boolean reminder) {
+            this.bookId = bookId;
+            this.title = title;
+            this.memberName = memberName;
+            this.dueDate = dueDate;
+            this.reminder = reminder;
+        }
+
+        Loan overdue() {
+            return reminder ? new Loan(bookId, title, memberName, dueDate, false) : this;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.librarymanagement.overdue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hierarchical timer wheel: four levels of 64 slots, each slot of a level spanning a whole turn of
+// the level below (1, 64, 4096 and 262144 ticks). A timer goes into the finest level whose current
+// turn contains its deadline and moves down a level when the wheel reaches its slot, so scheduling
+// and cancelling are O(1) and advancing costs O(timers that expire or move down) plus one step per
+// tick. Deadlines more than 2^24 ticks ahead wait in an overflow list.
+// Not thread-safe; callers synchronize.
+public class TimerWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final int MASK = SLOTS - 1;
+
+    private final Node<T>[][] wheels;
+    private final Node<T> overflow = Node.sentinel();
+    private final Map<Long, Node<T>> timers = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long startTick) {
+        this.currentTick = startTick;
+        this.wheels = new Node[LEVELS][SLOTS];
+        for (Node<T>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = Node.sentinel();
+            }
+        }
+    }
+
+    // Replaces any timer with the same key. Returns false, without scheduling anything, when the
+    // deadline has already been reached: the caller fires it straight away.
+    public boolean schedule(long key, long deadlineTick, T value) {
+        cancel(key);
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        Node<T> node = new Node<>(key, deadlineTick, value);
+        timers.put(key, node);
+        place(node);
+        return true;
+    }
+
+    public T cancel(long key) {
+        Node<T> node = timers.remove(key);
+        if (node == null) {
+            return null;
+        }
+        node.unlink();
+        return node.value;
+    }
+
+    // Moves the wheel forward to the given tick and returns the timers that expired on the way,
+    // in deadline order
+    public List<T> advanceTo(long tick) {
+        List<T> expired = new ArrayList<>();
+        while (currentTick < tick) {
+            currentTick++;
+            cascade();
+            Node<T> slot = wheels[0][(int) (currentTick & MASK)];
+            while (slot.next != slot) {
+                Node<T> node = slot.next;
+                node.unlink();
+                timers.remove(node.key);
+                expired.add(node.value);
+            }
+        }
+        return expired;
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    // At the start of every turn of a level, the next slot of each coarser level is redistributed
+    // into the finer ones, coarsest first so its timers can move down more than one level at once
+    private void cascade() {
+        if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+            relink(overflow);
+        }
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                relink(wheels[level][(int) ((currentTick >>> (SLOT_BITS * level)) & MASK)]);
+            }
+        }
+    }
+
+    private void relink(Node<T> slot) {
+        Node<T> node = slot.next;
+        slot.next = slot;
+        slot.prev = slot;
+        while (node != slot) {
+            Node<T> next = node.next;
+            place(node);
+            node = next;
+        }
+    }
+
+    private void place(Node<T> node) {
+        long deadline = Math.max(node.deadline, currentTick); // due now: the slot about to expire
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadline >>> shift) == (currentTick >>> shift)) {
+                node.linkBefore(wheels[level][(int) ((deadline >>> (SLOT_BITS * level)) & MASK)]);
+                return;
+            }
+        }
+        node.linkBefore(overflow);
+    }
+
+    private static final class Node<T> {
+        final long key;
+        final long deadline;
+        final T value;
+        Node<T> prev;
+        Node<T> next;
+
+        Node(long key, long deadline, T value) {
+            this.key = key;
+            this.deadline = deadline;
+            this.value = value;
+        }
+
+        static <T> Node<T> sentinel() {
+            Node<T> sentinel = new Node<>(0, 0, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        void linkBefore(Node<T> head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
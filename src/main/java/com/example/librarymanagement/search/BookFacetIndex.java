@@ -0,0 +1,423 @@
+package com.example.librarymanagement.search;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.CatalogImportedEvent;
+import com.example.librarymanagement.Member;
+import com.example.librarymanagement.MemberEvent;
+import com.example.librarymanagement.MemberRepository;
+import com.example.librarymanagement.dto.BookResponse;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Compressed (Roaring) bitmaps of book ids per facet value, so any mix of filters is a handful
+// of bitmap ANDs and facet counts are AND-cardinalities: no query per filter and no COUNT(*).
+// Dates are bucketed by day; only the boundary day of the overdue filter is checked book by book.
+@Component
+public class BookFacetIndex {
+
+    private static final int MAX_AUTHOR_FACETS = 50;
+
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap available = new RoaringBitmap();
+    // normalized author -> books, plus the spelling shown in facet counts
+    private final Map<String, RoaringBitmap> byAuthor = new HashMap<>();
+    private final Map<String, String> authorNames = new HashMap<>();
+    private final NavigableMap<LocalDate, RoaringBitmap> byAddedDay = new TreeMap<>();
+    private final NavigableMap<LocalDate, RoaringBitmap> byDueDay = new TreeMap<>();
+    private final Map<Long, RoaringBitmap> byBorrower = new HashMap<>();
+    private final Set<Long> inactiveMembers = new HashSet<>();
+    // book id -> what it was indexed under, so a book can be moved or removed again
+    private final Map<Integer, IndexedBook> books = new HashMap<>();
+
+    public BookFacetIndex(BookRepository bookRepository, MemberRepository memberRepository) {
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            all.clear();
+            available.clear();
+            byAuthor.clear();
+            authorNames.clear();
+            byAddedDay.clear();
+            byDueDay.clear();
+            byBorrower.clear();
+            inactiveMembers.clear();
+            books.clear();
+            for (Member member : memberRepository.findByIsActive(false)) {
+                inactiveMembers.add(member.getId());
+            }
+            try (Stream<BookResponse> catalog = bookRepository.streamAllResponses()) {
+                catalog.forEach(book -> {
+                    addInternal(book.getId(), book.getAuthor(), book.getCreatedAt());
+                    if (!book.isAvailable()) {
+                        borrowInternal(book.getId(), book.getBorrowedByMemberId(), book.getDueDate());
+                    }
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("🧮 Facet index built with " + size() + " books");
+    }
+
+    // Only committed changes reach the index
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case ADDED -> addInternal(event.getBookId(), event.getAuthor(), event.getCreatedAt());
+                case DELETED -> removeInternal(event.getBookId());
+                case BORROWED -> borrowInternal(event.getBookId(), event.getMemberId(), event.getDueDate());
+                case RETURNED -> returnInternal(event.getBookId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberEvent(MemberEvent event) {
+        if (event.getType() != MemberEvent.Type.DEACTIVATED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            inactiveMembers.add(event.getMemberId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return all.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Availability on its own backs the catalog summary and the available-books list
+    public int availableCount() {
+        lock.readLock().lock();
+        try {
+            return available.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> availableBooks(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return page(available, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int overdueCount() {
+        lock.readLock().lock();
+        try {
+            return overdueMask(true, LocalDateTime.now()).getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Books matching every given criterion, in id order, with facet counts. Each facet is counted
+    // under all the other criteria but not its own, so picking one author still shows the others.
+    public FacetResult filter(Criteria criteria, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            RoaringBitmap authorMask = authorMask(criteria.getAuthors());
+            RoaringBitmap availabilityMask = criteria.getAvailable() == null ? null
+                    : criteria.getAvailable() ? available : RoaringBitmap.andNot(all, available);
+            RoaringBitmap others = and(all, overdueMask(criteria.getOverdue(), now));
+            others = and(others, activeBorrowerMask(criteria.getBorrowedByActiveMember()));
+            others = and(others, addedMask(criteria.getAddedFrom(), criteria.getAddedTo()));
+
+            RoaringBitmap withoutAuthor = and(others, availabilityMask);
+            RoaringBitmap withoutAvailability = and(others, authorMask);
+            RoaringBitmap matches = and(withoutAuthor, authorMask);
+
+            int availableCount = RoaringBitmap.andCardinality(withoutAvailability, available);
+            int borrowedCount = withoutAvailability.getCardinality() - availableCount;
+            return new FacetResult(page(matches, offset, limit), matches.getCardinality(),
+                    authorCounts(withoutAuthor), availableCount, borrowedCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static RoaringBitmap and(RoaringBitmap bitmap, RoaringBitmap mask) {
+        return mask == null ? bitmap : RoaringBitmap.and(bitmap, mask);
+    }
+
+    private RoaringBitmap authorMask(Collection<String> authors) {
+        if (authors == null || authors.isEmpty()) {
+            return null;
+        }
+        List<RoaringBitmap> matching = new ArrayList<>();
+        for (String author : authors) {
+            RoaringBitmap bitmap = byAuthor.get(TextAnalyzer.normalize(author));
+            if (bitmap != null) {
+                matching.add(bitmap);
+            }
+        }
+        return RoaringBitmap.or(matching.iterator());
+    }
+
+    // Whole days before today are overdue as a block; books due today are compared one by one
+    private RoaringBitmap overdueMask(Boolean overdue, LocalDateTime now) {
+        if (overdue == null) {
+            return null;
+        }
+        RoaringBitmap due = RoaringBitmap.or(byDueDay.headMap(now.toLocalDate(), false).values().iterator());
+        RoaringBitmap dueToday = byDueDay.get(now.toLocalDate());
+        if (dueToday != null) {
+            for (int bookId : dueToday.toArray()) {
+                if (now.isAfter(books.get(bookId).dueDate)) {
+                    due.add(bookId);
+                }
+            }
+        }
+        return overdue ? due : RoaringBitmap.andNot(all, due);
+    }
+
+    // Deactivated members are the exception, so subtract their loans from all loans
+    private RoaringBitmap activeBorrowerMask(Boolean borrowedByActiveMember) {
+        if (borrowedByActiveMember == null) {
+            return null;
+        }
+        List<RoaringBitmap> inactiveLoans = new ArrayList<>();
+        for (Long memberId : inactiveMembers) {
+            RoaringBitmap loans = byBorrower.get(memberId);
+            if (loans != null) {
+                inactiveLoans.add(loans);
+            }
+        }
+        RoaringBitmap borrowed = RoaringBitmap.andNot(all, available);
+        RoaringBitmap active = RoaringBitmap.andNot(borrowed, RoaringBitmap.or(inactiveLoans.iterator()));
+        return borrowedByActiveMember ? active : RoaringBitmap.andNot(all, active);
+    }
+
+    private RoaringBitmap addedMask(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        NavigableMap<LocalDate, RoaringBitmap> days = byAddedDay;
+        if (from != null) {
+            days = days.tailMap(from, true);
+        }
+        if (to != null) {
+            days = days.headMap(to, true);
+        }
+        return RoaringBitmap.or(days.values().iterator());
+    }
+
+    // Highest counts first, capped so a catalog with thousands of authors stays a small response
+    private Map<String, Integer> authorCounts(RoaringBitmap base) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        for (Map.Entry<String, RoaringBitmap> entry : byAuthor.entrySet()) {
+            int count = RoaringBitmap.andCardinality(base, entry.getValue());
+            if (count > 0) {
+                counts.add(Map.entry(authorNames.get(entry.getKey()), count));
+            }
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Integer> top = new LinkedHashMap<>();
+        counts.stream().limit(MAX_AUTHOR_FACETS).forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    // Jumps straight to the offset-th id instead of walking the bitmap from the start
+    private static List<Long> page(RoaringBitmap matches, int offset, int limit) {
+        // select() throws for a rank outside the bitmap
+        if (offset < 0 || limit <= 0 || offset >= matches.getCardinality()) {
+            return new ArrayList<>();
+        }
+        List<Long> bookIds = new ArrayList<>(limit);
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select(offset));
+        while (iterator.hasNext() && bookIds.size() < limit) {
+            bookIds.add((long) iterator.next());
+        }
+        return bookIds;
+    }
+
+    private void addInternal(Long id, String author, LocalDateTime createdAt) {
+        int bookId = Math.toIntExact(id);
+        removeInternal(id);
+
+        IndexedBook indexed = new IndexedBook(TextAnalyzer.normalize(author),
+                createdAt != null ? createdAt.toLocalDate() : LocalDate.now());
+        books.put(bookId, indexed);
+        all.add(bookId);
+        available.add(bookId);
+        byAuthor.computeIfAbsent(indexed.authorKey, key -> new RoaringBitmap()).add(bookId);
+        authorNames.putIfAbsent(indexed.authorKey, author);
+        byAddedDay.computeIfAbsent(indexed.addedDay, day -> new RoaringBitmap()).add(bookId);
+    }
+
+    private void removeInternal(Long id) {
+        int bookId = Math.toIntExact(id);
+        IndexedBook indexed = books.get(bookId);
+        if (indexed == null) {
+            return;
+        }
+        returnInternal(id);
+        books.remove(bookId);
+        all.remove(bookId);
+        available.remove(bookId);
+        if (removeFrom(byAuthor, indexed.authorKey, bookId)) {
+            authorNames.remove(indexed.authorKey);
+        }
+        removeFrom(byAddedDay, indexed.addedDay, bookId);
+    }
+
+    private void borrowInternal(Long id, Long memberId, LocalDateTime dueDate) {
+        int bookId = Math.toIntExact(id);
+        IndexedBook indexed = books.get(bookId);
+        if (indexed == null) {
+            return;
+        }
+        returnInternal(id);
+        available.remove(bookId);
+        indexed.borrowerId = memberId;
+        indexed.dueDate = dueDate;
+        if (memberId != null) {
+            byBorrower.computeIfAbsent(memberId, key -> new RoaringBitmap()).add(bookId);
+        }
+        if (dueDate != null) {
+            byDueDay.computeIfAbsent(dueDate.toLocalDate(), day -> new RoaringBitmap()).add(bookId);
+        }
+    }
+
+    private void returnInternal(Long id) {
+        int bookId = Math.toIntExact(id);
+        IndexedBook indexed = books.get(bookId);
+        if (indexed == null) {
+            return;
+        }
+        if (indexed.borrowerId != null) {
+            removeFrom(byBorrower, indexed.borrowerId, bookId);
+        }
+        if (indexed.dueDate != null) {
+            removeFrom(byDueDay, indexed.dueDate.toLocalDate(), bookId);
+        }
+        indexed.borrowerId = null;
+        indexed.dueDate = null;
+        available.add(bookId);
+    }
+
+    // Drops the bitmap once empty; returns true when it did
+    private static <K> boolean removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int bookId) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap == null) {
+            return false;
+        }
+        bitmap.remove(bookId);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    private static final class IndexedBook {
+        final String authorKey;
+        final LocalDate addedDay;
+        Long borrowerId;
+        LocalDateTime dueDate;
+
+        IndexedBook(String authorKey, LocalDate addedDay) {
+            this.authorKey = authorKey;
+            this.addedDay = addedDay;
+        }
+    }
+
+    // Null means "don't filter on this"
+    public static class Criteria {
+        private final List<String> authors;
+        private final Boolean available;
+        private final Boolean overdue;
+        private final Boolean borrowedByActiveMember;
+        private final LocalDate addedFrom;
+        private final LocalDate addedTo;
+
+        public Criteria(List<String> authors, Boolean available, Boolean overdue, Boolean borrowedByActiveMember,
+                        LocalDate addedFrom, LocalDate addedTo) {
+            this.authors = authors;
+            this.available = available;
+            this.overdue = overdue;
+            this.borrowedByActiveMember = borrowedByActiveMember;
+            this.addedFrom = addedFrom;
+            this.addedTo = addedTo;
+        }
+
+        public List<String> getAuthors() { return authors; }
+        public Boolean getAvailable() { return available; }
+        public Boolean getOverdue() { return overdue; }
+        public Boolean getBorrowedByActiveMember() { return borrowedByActiveMember; }
+        public LocalDate getAddedFrom() { return addedFrom; }
+        public LocalDate getAddedTo() { return addedTo; }
+    }
+
+    public static class FacetResult {
+        private final List<Long> bookIds;
+        private final long totalHits;
+        private final Map<String, Integer> authorCounts;
+        private final int availableCount;
+        private final int borrowedCount;
+
+        FacetResult(List<Long> bookIds, long totalHits, Map<String, Integer> authorCounts,
+                    int availableCount, int borrowedCount) {
+            this.bookIds = bookIds;
+            this.totalHits = totalHits;
+            this.authorCounts = authorCounts;
+            this.availableCount = availableCount;
+            this.borrowedCount = borrowedCount;
+        }
+
+        public List<Long> getBookIds() { return bookIds; }
+        public long getTotalHits() { return totalHits; }
+        public Map<String, Integer> getAuthorCounts() { return authorCounts; }
+        public int getAvailableCount() { return availableCount; }
+        public int getBorrowedCount() { return borrowedCount; }
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.librarymanagement.search;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.CatalogImportedEvent;
+import com.example.librarymanagement.dto.BookResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory inverted index over title, author and ISBN, ranked with BM25.
+// Candidate matching never touches the database; callers only load the books of the requested page.
+// Fuzzy mode also matches misspelled terms ("shildt" -> "schildt") through a trigram index over the vocabulary.
+@Component
+public class BookSearchIndex {
+
+    // BM25 tuning (standard defaults)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field boosts: a hit in the title counts more than a hit in the author or ISBN
+    private static final float TITLE_BOOST = 2.0f;
+    private static final float AUTHOR_BOOST = 1.5f;
+    private static final float ISBN_BOOST = 1.0f;
+
+    // "spr" still finds "spring", but an exact term always ranks higher
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    // Fuzzy matching: weight by edit distance, and hard caps so a query stays bounded on any catalog size
+    private static final double[] FUZZY_MATCH_WEIGHTS = {1.0, 0.6, 0.35};
+    private static final int MAX_FUZZY_CANDIDATES = 500;
+    private static final int MAX_FUZZY_EXPANSIONS = 16;
+
+    private static final Comparator<ScoredBook> RANKING =
+            Comparator.comparingDouble(ScoredBook::getScore).reversed()
+                    .thenComparingLong(ScoredBook::getBookId);
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (book id -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // book id -> indexed terms and length, kept so a book can be removed again
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    // trigram -> vocabulary terms, for fuzzy candidates
+    private final TrigramIndex trigrams = new TrigramIndex();
+    private double totalLength;
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    // Streams projections instead of loading every Book entity into one persistence context
+    @EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            books.clear();
+            trigrams.clear();
+            totalLength = 0;
+            try (Stream<BookResponse> catalog = bookRepository.streamAllResponses()) {
+                catalog.forEach(book -> addInternal(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("🔎 Search index built with " + size() + " books");
+    }
+
+    // Only committed changes reach the index
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        switch (event.getType()) {
+            case ADDED -> add(event.getBookId(), event.getTitle(), event.getAuthor(), event.getIsbn());
+            case DELETED -> remove(event.getBookId());
+        }
+    }
+
+    public void add(Long bookId, String title, String author, String isbn) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(bookId);
+            addInternal(bookId, title, author, isbn);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        return search(query, false, offset, limit);
+    }
+
+    // Returns the hits ranked [offset, offset + limit) plus the total number of matching books
+    public SearchResult search(String query, boolean fuzzy, int offset, int limit) {
+        List<String> terms = TextAnalyzer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || offset < 0 || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = score(terms, fuzzy);
+            // The heap never needs more slots than there are matches
+            List<ScoredBook> top = topK(scores, null, (int) Math.min((long) offset + limit, scores.size()));
+            List<ScoredBook> page = offset >= top.size() ? List.of() : top.subList(offset, top.size());
+            return new SearchResult(page, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keyset variant: the hits ranked right after (score, id) of the previous page's last hit,
+    // so deep pages cost the same as the first one
+    public SearchResult searchAfter(String query, boolean fuzzy, ScoredBook after, int limit) {
+        List<String> terms = TextAnalyzer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = score(terms, fuzzy);
+            return new SearchResult(topK(scores, after, limit), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> score(List<String> terms, boolean fuzzy) {
+        int bookCount = books.size();
+        if (bookCount == 0) {
+            return Map.of();
+        }
+        double averageLength = totalLength / bookCount;
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            // Best contribution per book for this query term (exact match or one of its expansions)
+            Map<Long, Double> termScores = new HashMap<>();
+            for (Map.Entry<String, Double> expansion : expand(term, fuzzy).entrySet()) {
+                double weight = expansion.getValue();
+                Map<Long, Float> matches = postings.get(expansion.getKey());
+                double idf = Math.log(1 + (bookCount - matches.size() + 0.5) / (matches.size() + 0.5));
+
+                for (Map.Entry<Long, Float> match : matches.entrySet()) {
+                    double tf = match.getValue();
+                    double length = books.get(match.getKey()).length;
+                    double bm25 = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                    termScores.merge(match.getKey(), weight * bm25, Math::max);
+                }
+            }
+            termScores.forEach((bookId, termScore) -> scores.merge(bookId, termScore, Double::sum));
+        }
+        return scores;
+    }
+
+    // Index terms a query term stands for, with their weight: itself, its prefix completions
+    // and, in fuzzy mode, vocabulary terms within the typo budget
+    private Map<String, Double> expand(String term, boolean fuzzy) {
+        Map<String, Double> expansions = new LinkedHashMap<>();
+        for (String candidate : postings.subMap(term, true, term + Character.MAX_VALUE, true).keySet()) {
+            if (expansions.size() >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            expansions.put(candidate, candidate.equals(term) ? 1.0 : PREFIX_MATCH_WEIGHT);
+        }
+        if (fuzzy) {
+            fuzzyMatches(term).forEach((candidate, distance) ->
+                    expansions.merge(candidate, FUZZY_MATCH_WEIGHTS[distance], Math::max));
+        }
+        return expansions;
+    }
+
+    // Trigram filter first (q-gram lemma: each edit destroys at most 3 trigrams), then the
+    // bounded Levenshtein check on the best candidates only
+    private Map<String, Integer> fuzzyMatches(String term) {
+        int maxDistance = BoundedLevenshtein.maxDistanceFor(term.length());
+        BoundedLevenshtein levenshtein = BoundedLevenshtein.compile(term, maxDistance);
+        if (maxDistance == 0 || levenshtein == null) {
+            return Map.of();
+        }
+
+        int minShared = Math.max(1, TrigramIndex.trigrams(term).size() - 3 * maxDistance);
+        List<Map.Entry<String, Integer>> candidates = trigrams.sharedTrigramCounts(term).entrySet().stream()
+                .filter(entry -> entry.getValue() >= minShared)
+                .filter(entry -> Math.abs(entry.getKey().length() - term.length()) <= maxDistance)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(MAX_FUZZY_CANDIDATES)
+                .toList();
+
+        Map<String, Integer> matches = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : candidates) {
+            int distance = levenshtein.distance(candidate.getKey());
+            if (distance <= maxDistance) {
+                matches.put(candidate.getKey(), distance);
+            }
+        }
+        if (matches.size() <= MAX_FUZZY_EXPANSIONS) {
+            return matches;
+        }
+
+        Map<String, Integer> closest = new HashMap<>();
+        matches.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(MAX_FUZZY_EXPANSIONS)
+                .forEach(entry -> closest.put(entry.getKey(), entry.getValue()));
+        return closest;
+    }
+
+    // Bounded min-heap: O(n log k) instead of sorting every match
+    private static List<ScoredBook> topK(Map<Long, Double> scores, ScoredBook after, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        PriorityQueue<ScoredBook> heap = new PriorityQueue<>(Math.max(1, k), RANKING.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            ScoredBook candidate = new ScoredBook(entry.getKey(), entry.getValue());
+            if (after != null && RANKING.compare(candidate, after) <= 0) {
+                continue; // already handed out on an earlier page
+            }
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (RANKING.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        List<ScoredBook> ranked = new ArrayList<>(heap);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    private void addInternal(Long bookId, String title, String author, String isbn) {
+        Map<String, Float> frequencies = new HashMap<>();
+        TextAnalyzer.tokenize(title).forEach(token -> frequencies.merge(token, TITLE_BOOST, Float::sum));
+        TextAnalyzer.tokenize(author).forEach(token -> frequencies.merge(token, AUTHOR_BOOST, Float::sum));
+        TextAnalyzer.tokenizeIsbn(isbn).forEach(token -> frequencies.merge(token, ISBN_BOOST, Float::sum));
+
+        float length = 0;
+        for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            Map<Long, Float> matches = postings.get(entry.getKey());
+            if (matches == null) {
+                matches = new HashMap<>();
+                postings.put(entry.getKey(), matches);
+                trigrams.add(entry.getKey());
+            }
+            matches.put(bookId, entry.getValue());
+            length += entry.getValue();
+        }
+        books.put(bookId, new IndexedBook(frequencies.keySet().toArray(new String[0]), length));
+        totalLength += length;
+    }
+
+    private void removeInternal(Long bookId) {
+        IndexedBook indexed = books.remove(bookId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms) {
+            Map<Long, Float> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(bookId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                    trigrams.remove(term);
+                }
+            }
+        }
+        totalLength -= indexed.length;
+    }
+
+    private static class IndexedBook {
+        private final String[] terms;
+        private final float length;
+
+        IndexedBook(String[] terms, float length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    public static class ScoredBook {
+        private final long bookId;
+        private final double score;
+
+        public ScoredBook(long bookId, double score) {
+            this.bookId = bookId;
+            this.score = score;
+        }
+
+        public long getBookId() { return bookId; }
+        public double getScore() { return score; }
+    }
+
+    public static class SearchResult {
+        private final List<ScoredBook> hits;
+        private final long totalHits;
+
+        public SearchResult(List<ScoredBook> hits, long totalHits) {
+            this.hits = hits;
+            this.totalHits = totalHits;
+        }
+
+        public List<ScoredBook> getHits() { return hits; }
+        public long getTotalHits() { return totalHits; }
+
+        public List<Long> getBookIds() {
+            return hits.stream().map(ScoredBook::getBookId).toList();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.librarymanagement.search;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.CatalogImportedEvent;
+import com.example.librarymanagement.dto.BookResponse;
+import com.example.librarymanagement.dto.SuggestionResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Typeahead over titles and authors, answered from memory on every keystroke.
+// A phrase's weight is the number of books carrying it, so popular authors come first.
+@Component
+public class BookSuggester {
+
+    private final BookRepository bookRepository;
+    private final SuggestionTrie titles = new SuggestionTrie();
+    private final SuggestionTrie authors = new SuggestionTrie();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BookSuggester(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            titles.clear();
+            authors.clear();
+            try (Stream<BookResponse> catalog = bookRepository.streamAllResponses()) {
+                catalog.forEach(book -> {
+                    titles.adjust(book.getTitle(), 1);
+                    authors.adjust(book.getAuthor(), 1);
+                });
+            }
+            System.out.println("💡 Suggestions built: " + titles.size() + " titles, " + authors.size() + " authors");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        switch (event.getType()) {
+            case ADDED -> adjust(event, 1);
+            case DELETED -> adjust(event, -1);
+        }
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        List<SuggestionResponse> suggestions = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            titles.complete(prefix, limit)
+                    .forEach(entry -> suggestions.add(new SuggestionResponse(entry.text, "title", entry.weight)));
+            authors.complete(prefix, limit)
+                    .forEach(entry -> suggestions.add(new SuggestionResponse(entry.text, "author", entry.weight)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        suggestions.sort(Comparator.comparingInt(SuggestionResponse::getWeight).reversed()
+                .thenComparing(SuggestionResponse::getText));
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    private void adjust(BookEvent event, int delta) {
+        lock.writeLock().lock();
+        try {
+            titles.adjust(event.getTitle(), delta);
+            authors.adjust(event.getAuthor(), delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.librarymanagement.search;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Levenshtein distance with an upper bound, compiled once per query term.
+// Uses Myers' bit-parallel algorithm (Hyyrö's global-distance variant): the pattern is turned
+// into per-character bit masks up front, and each candidate is then checked in O(length) word
+// operations instead of filling a DP table. Gives up as soon as the bound can no longer be met.
+final class BoundedLevenshtein {
+
+    static final int MAX_PATTERN_LENGTH = 64;
+
+    private final String pattern;
+    private final int maxDistance;
+    private final long[] asciiMasks = new long[128];
+    private final Map<Character, Long> otherMasks = new HashMap<>();
+    private final long highBit;
+    private final long allOnes;
+
+    private BoundedLevenshtein(String pattern, int maxDistance) {
+        this.pattern = pattern;
+        this.maxDistance = maxDistance;
+        int m = pattern.length();
+        this.highBit = 1L << (m - 1);
+        this.allOnes = m == 64 ? -1L : (1L << m) - 1;
+        for (int i = 0; i < m; i++) {
+            char c = pattern.charAt(i);
+            if (c < 128) {
+                asciiMasks[c] |= 1L << i;
+            } else {
+                otherMasks.merge(c, 1L << i, (a, b) -> a | b);
+            }
+        }
+    }
+
+    // Returns null when the pattern is empty or too long for a single machine word
+    static BoundedLevenshtein compile(String pattern, int maxDistance) {
+        if (pattern.isEmpty() || pattern.length() > MAX_PATTERN_LENGTH) {
+            return null;
+        }
+        return new BoundedLevenshtein(pattern, maxDistance);
+    }
+
+    // Typo budget by word length: short words must match exactly
+    static int maxDistanceFor(int length) {
+        if (length <= 2) {
+            return 0;
+        }
+        return length <= 4 ? 1 : 2;
+    }
+
+    int maxDistance() {
+        return maxDistance;
+    }
+
+    // The edit distance, or maxDistance + 1 if it is larger than the bound
+    int distance(String text) {
+        int n = text.length();
+        if (Math.abs(n - pattern.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        long pv = allOnes;
+        long mv = 0;
+        int score = pattern.length();
+        for (int j = 0; j < n; j++) {
+            long eq = mask(text.charAt(j));
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & highBit) != 0) {
+                score++;
+            } else if ((mh & highBit) != 0) {
+                score--;
+            }
+            ph = (ph << 1) | 1;   // first row of the DP table is 0, 1, 2, ...
+            mh = mh << 1;
+            pv = (mh | ~(xv | ph)) & allOnes;
+            mv = ph & xv & allOnes;
+
+            // Each remaining character can lower the distance by at most one
+            if (score - (n - j - 1) > maxDistance) {
+                return maxDistance + 1;
+            }
+        }
+        return Math.min(score, maxDistance + 1);
+    }
+
+    private long mask(char c) {
+        return c < 128 ? asciiMasks[c] : otherMasks.getOrDefault(c, 0L);
+    }
+}
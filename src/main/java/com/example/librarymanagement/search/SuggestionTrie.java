@@ -0,0 +1,287 @@
+package com.example.librarymanagement.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Radix trie of normalized phrases with popularity weights. Every node caches the highest
+// weight in its subtree, so the top-N completions of a prefix are found best-first without
+// walking the whole subtree. Not thread-safe: BookSuggester guards it with a lock.
+class SuggestionTrie {
+
+    // Phrases are also reachable from each later word ("code" completes to "Clean Code")
+    private static final int MAX_WORD_STARTS = 6;
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingInt((Candidate candidate) -> candidate.weight).reversed()
+            // Nodes before entries of equal weight: every tied phrase is queued before the first is
+            // emitted, so ties come out in text order
+            .thenComparing(candidate -> candidate.entry != null)
+            .thenComparing(candidate -> candidate.entry == null ? "" : candidate.entry.text);
+
+    static final class Entry {
+        final String text;
+        int weight;
+
+        Entry(String text, int weight) {
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Node {
+        String label;
+        final Map<Character, Node> children = new HashMap<>(4);
+        List<Entry> entries;   // null when no phrase ends here
+        int maxWeight;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Candidate {
+        final int weight;
+        final Node node;
+        final Entry entry;
+
+        Candidate(Node node) {
+            this.weight = node.maxWeight;
+            this.node = node;
+            this.entry = null;
+        }
+
+        Candidate(Entry entry) {
+            this.weight = entry.weight;
+            this.node = null;
+            this.entry = entry;
+        }
+    }
+
+    private Node root = new Node("");
+    private final Map<String, Entry> entriesByKey = new HashMap<>();
+
+    void clear() {
+        root = new Node("");
+        entriesByKey.clear();
+    }
+
+    int size() {
+        return entriesByKey.size();
+    }
+
+    // Adds delta to the weight of a phrase, creating it when new and dropping it once it reaches zero
+    void adjust(String text, int delta) {
+        String key = TextAnalyzer.normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        Entry entry = entriesByKey.get(key);
+        if (entry == null) {
+            if (delta <= 0) {
+                return;
+            }
+            entry = new Entry(text.trim(), delta);
+            entriesByKey.put(key, entry);
+            for (String suffix : wordStarts(key)) {
+                insert(suffix, entry);
+            }
+            return;
+        }
+
+        entry.weight += delta;
+        if (entry.weight <= 0) {
+            entriesByKey.remove(key);
+            for (String suffix : wordStarts(key)) {
+                remove(suffix, entry);
+            }
+        } else {
+            for (String suffix : wordStarts(key)) {
+                List<Node> path = path(suffix);
+                if (path != null) {
+                    refreshWeights(path);
+                }
+            }
+        }
+    }
+
+    List<Entry> complete(String prefix, int limit) {
+        Node start = locate(TextAnalyzer.normalize(prefix));
+        if (start == null || limit <= 0) {
+            return List.of();
+        }
+
+        List<Entry> results = new ArrayList<>(limit);
+        Set<Entry> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.add(new Candidate(start));
+
+        while (!queue.isEmpty() && results.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.entry != null) {
+                if (seen.add(candidate.entry)) {
+                    results.add(candidate.entry);
+                }
+                continue;
+            }
+            if (candidate.node.entries != null) {
+                candidate.node.entries.forEach(entry -> queue.add(new Candidate(entry)));
+            }
+            candidate.node.children.values().forEach(child -> queue.add(new Candidate(child)));
+        }
+        return results;
+    }
+
+    private static List<String> wordStarts(String key) {
+        List<String> starts = new ArrayList<>();
+        starts.add(key);
+        int index = key.indexOf(' ');
+        while (index >= 0 && starts.size() < MAX_WORD_STARTS) {
+            if (index + 1 < key.length()) {
+                starts.add(key.substring(index + 1));
+            }
+            index = key.indexOf(' ', index + 1);
+        }
+        return starts;
+    }
+
+    private void insert(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                i = key.length();
+            } else {
+                int common = commonPrefixLength(child.label, key, i);
+                if (common < child.label.length()) {
+                    // Split the edge: node -> middle -> child
+                    Node middle = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    middle.children.put(child.label.charAt(0), child);
+                    middle.maxWeight = child.maxWeight;
+                    node.children.put(middle.label.charAt(0), middle);
+                    child = middle;
+                }
+                i += common;
+            }
+            node = child;
+            path.add(node);
+        }
+
+        if (node.entries == null) {
+            node.entries = new ArrayList<>(1);
+        }
+        node.entries.add(entry);
+        refreshWeights(path);
+    }
+
+    private void remove(String key, Entry entry) {
+        List<Node> path = path(key);
+        if (path == null) {
+            return;
+        }
+        Node last = path.get(path.size() - 1);
+        if (last.entries != null) {
+            last.entries.remove(entry);
+            if (last.entries.isEmpty()) {
+                last.entries = null;
+            }
+        }
+
+        // Prune empty leaves and merge chains left behind, bottom-up
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+            if (node.entries != null) {
+                break;
+            }
+            if (node.children.isEmpty()) {
+                parent.children.remove(node.label.charAt(0));
+            } else if (node.children.size() == 1) {
+                Node only = node.children.values().iterator().next();
+                only.label = node.label + only.label;
+                parent.children.put(only.label.charAt(0), only);
+                break;
+            } else {
+                break;
+            }
+        }
+        refreshWeights(path);
+    }
+
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            i += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    // The node whose subtree holds every phrase starting with the prefix (the prefix may end mid-edge)
+    private Node locate(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            if (prefix.length() - i <= child.label.length()) {
+                return child.label.startsWith(prefix.substring(i)) ? child : null;
+            }
+            if (!prefix.startsWith(child.label, i)) {
+                return null;
+            }
+            i += child.label.length();
+            node = child;
+        }
+        return node;
+    }
+
+    private static void refreshWeights(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            int max = 0;
+            if (node.entries != null) {
+                for (Entry entry : node.entries) {
+                    max = Math.max(max, entry.weight);
+                }
+            }
+            for (Node child : node.children.values()) {
+                max = Math.max(max, child.maxWeight);
+            }
+            node.maxWeight = max;
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = 0;
+        while (length < label.length() && offset + length < key.length()
+                && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.librarymanagement.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Shared normalization for every in-memory text structure, so that the index side
+// and the query side always agree on what a term looks like
+public final class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextAnalyzer() {}
+
+    // Lowercase, strip accents ("Brontë" -> "bronte") and collapse whitespace
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    // Split normalized text on anything that is not a letter or digit
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+
+    // ISBNs are indexed both by their hyphenated parts and in compact form,
+    // so "978-0132350884" and "9780132350884" find the same book
+    public static List<String> tokenizeIsbn(String isbn) {
+        List<String> tokens = tokenize(isbn);
+        String compact = String.join("", tokens);
+        if (tokens.size() > 1 && !compact.isEmpty()) {
+            tokens.add(compact);
+        }
+        return tokens;
+    }
+}
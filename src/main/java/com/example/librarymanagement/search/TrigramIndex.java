@@ -0,0 +1,60 @@
+package com.example.librarymanagement.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Trigram -> vocabulary terms, used to pick fuzzy-match candidates without scanning the vocabulary.
+// Terms are padded ("#code#") so the first and last letters count as well.
+// Not thread-safe: owned by BookSearchIndex and guarded by its lock.
+class TrigramIndex {
+
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+    void add(String term) {
+        for (String trigram : trigrams(term)) {
+            termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+        }
+    }
+
+    void remove(String term) {
+        for (String trigram : trigrams(term)) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    termsByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        termsByTrigram.clear();
+    }
+
+    // Vocabulary terms sharing at least one trigram with the given term -> number of shared trigrams
+    Map<String, Integer> sharedTrigramCounts(String term) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String trigram : trigrams(term)) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms != null) {
+                for (String candidate : terms) {
+                    counts.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    static Set<String> trigrams(String term) {
+        String padded = "#" + term + "#";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
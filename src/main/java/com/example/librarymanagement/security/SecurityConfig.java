@@ -1,5 +1,6 @@
 package com.example.librarymanagement.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -40,6 +41,9 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses finish on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints - Auth
                         .requestMatchers("/api/v1/auth/**").permitAll()
 
@@ -50,18 +54,23 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/library/books").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/library/books/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/library/info").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/library/trending").permitAll()
 
                         // Admin only endpoints
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/v1/library/books").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/library/books/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/library/books/**").hasRole("ADMIN")
 
                         // Admin and Librarian endpoints
                         .requestMatchers("/api/v1/members/**").hasAnyRole("ADMIN", "LIBRARIAN")
+                        .requestMatchers("/api/v1/reports/**").hasAnyRole("ADMIN", "LIBRARIAN")
 
                         // Authenticated endpoints - Borrowing
                         .requestMatchers(HttpMethod.POST, "/api/v1/library/books/*/borrow").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/v1/library/books/*/return").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/library/books/borrow-batch").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/library/books/return-batch").authenticated()
 
                         // All other requests require authentication
                         .anyRequest().authenticated()
@@ -0,0 +1,151 @@
+package com.example.librarymanagement.stats;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.CatalogImportedEvent;
+import com.example.librarymanagement.dto.AuthorCountResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Books per author, kept up to date by the add/delete events instead of a GROUP BY per request.
+// The ranking is a sorted set, so an update is O(log n) and the top k are read in O(k).
+// A periodic rebuild from the database repairs any drift (e.g. rows changed outside the service).
+@Component
+public class AuthorStatistics {
+
+    private static final Comparator<AuthorCount> RANKING = Comparator
+            .comparingLong((AuthorCount entry) -> entry.count).reversed()
+            .thenComparing(entry -> entry.author);
+
+    private final BookRepository bookRepository;
+
+    private final Map<String, AuthorCount> counts = new HashMap<>();
+    private final TreeSet<AuthorCount> ranking = new TreeSet<>(RANKING);
+
+    // One rebuild at a time; readers and events only wait for the swap at its end
+    private final Object rebuildLock = new Object();
+    // Changes applied while a rebuild's query runs, replayed onto its result (null when none runs)
+    private Map<String, Long> deltasSinceSnapshot;
+    private boolean loaded;
+
+    public AuthorStatistics(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+    @Scheduled(fixedDelayString = "${library.author-stats.rebuild-interval:PT1H}",
+            initialDelayString = "${library.author-stats.rebuild-interval:PT1H}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                deltasSinceSnapshot = new HashMap<>();
+            }
+            // The aggregation runs outside the lock so readers are never blocked on the database
+            Map<String, Long> fresh = new HashMap<>();
+            try {
+                for (Object[] row : bookRepository.findAuthorBookCounts()) {
+                    fresh.put((String) row[0], ((Number) row[1]).longValue());
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    deltasSinceSnapshot = null;
+                }
+                throw e;
+            }
+
+            int drifted = 0;
+            boolean repaired;
+            synchronized (this) {
+                // A change committed just before the query but applied after it started is counted
+                // twice until the next rebuild; losing every change made during the query was worse
+                deltasSinceSnapshot.forEach((author, delta) -> fresh.merge(author, delta, Long::sum));
+                deltasSinceSnapshot = null;
+                fresh.values().removeIf(count -> count <= 0);
+
+                repaired = loaded;
+                if (loaded) {
+                    for (Map.Entry<String, AuthorCount> entry : counts.entrySet()) {
+                        if (entry.getValue().count != fresh.getOrDefault(entry.getKey(), 0L)) {
+                            drifted++;
+                        }
+                    }
+                    for (String author : fresh.keySet()) {
+                        if (!counts.containsKey(author)) {
+                            drifted++;
+                        }
+                    }
+                }
+                counts.clear();
+                ranking.clear();
+                fresh.forEach(this::put);
+                loaded = true;
+            }
+            System.out.println("📊 Author statistics " + (repaired ? "rebuilt" : "loaded") + ": " + fresh.size()
+                    + " authors" + (repaired ? ", " + drifted + " corrected" : ""));
+        }
+    }
+
+    // Only committed changes are counted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        switch (event.getType()) {
+            case ADDED -> adjust(event.getAuthor(), 1);
+            case DELETED -> adjust(event.getAuthor(), -1);
+        }
+    }
+
+    public synchronized void adjust(String author, long delta) {
+        if (author == null) {
+            return;
+        }
+        if (deltasSinceSnapshot != null) {
+            deltasSinceSnapshot.merge(author, delta, Long::sum);
+        }
+        AuthorCount current = counts.get(author);
+        long count = (current != null ? current.count : 0) + delta;
+        if (current != null) {
+            ranking.remove(current);
+            counts.remove(author);
+        }
+        if (count > 0) {
+            put(author, count);
+        }
+    }
+
+    public synchronized List<AuthorCountResponse> topAuthors(int limit) {
+        List<AuthorCountResponse> top = new ArrayList<>(Math.min(limit, ranking.size()));
+        Iterator<AuthorCount> iterator = ranking.iterator();
+        while (iterator.hasNext() && top.size() < limit) {
+            AuthorCount entry = iterator.next();
+            top.add(new AuthorCountResponse(entry.author, entry.count));
+        }
+        return top;
+    }
+
+    private void put(String author, long count) {
+        AuthorCount entry = new AuthorCount(author, count);
+        counts.put(author, entry);
+        ranking.add(entry);
+    }
+
+    private static final class AuthorCount {
+        final String author;
+        final long count;
+
+        AuthorCount(String author, long count) {
+            this.author = author;
+            this.count = count;
+        }
+    }
+}
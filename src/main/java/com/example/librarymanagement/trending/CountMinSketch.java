@@ -0,0 +1,67 @@
+package com.example.librarymanagement.trending;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Approximate counts for an open-ended set of strings in fixed memory: depth rows of width
+// counters, each key adding to one counter per row. The estimate is the smallest of its
+// counters: never below the true count, and above it by at most e/width of the total with
+// probability 1 - e^-depth. Lock-free: the counters are atomics.
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Depth must be positive and width a power of two");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    public void add(String key, long count) {
+        long hash = hash(key);
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(row * width + index(hash, row), count);
+        }
+    }
+
+    public long estimate(String key) {
+        long hash = hash(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + index(hash, row)));
+        }
+        return estimate;
+    }
+
+    // Each row remixes the key's hash with its own seed. (Deriving the rows as h1 + i * h2 is
+    // cheaper, but two keys that agree on h1 and h2 then share every counter, which happens once
+    // in width^2 pairs instead of once in width^depth.)
+    private int index(long hash, int row) {
+        return (int) mix(hash + (row + 1) * 0x9e3779b97f4a7c15L) & (width - 1);
+    }
+
+    // FNV-1a over the UTF-8 bytes
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // Murmur3 finalizer, to spread the bits
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.librarymanagement.trending;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+// The Space-Saving heavy-hitter summary: at most capacity keys are tracked, and a new key takes
+// the place of the one with the lowest count, inheriting that count as its possible error. Any
+// key seen more than total/capacity times is guaranteed to be tracked. Used here only to pick
+// the candidates; their counts come from the Count-Min Sketch.
+public class SpaceSaving {
+
+    private static final class Entry {
+        final String key;
+        long count;
+
+        Entry(String key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+    }
+
+    private static final Comparator<Entry> BY_COUNT = Comparator
+            .comparingLong((Entry entry) -> entry.count)
+            .thenComparing(entry -> entry.key);
+
+    private final int capacity;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> byCount = new TreeSet<>(BY_COUNT);
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    // O(log capacity) under the lock
+    public synchronized void offer(String key, long count) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() < capacity) {
+                entry = new Entry(key, 0);
+            } else {
+                Entry evicted = byCount.pollFirst();
+                entries.remove(evicted.key);
+                entry = new Entry(key, evicted.count);
+            }
+            entries.put(key, entry);
+        } else {
+            byCount.remove(entry);
+        }
+        entry.count += count;
+        byCount.add(entry);
+    }
+
+    // Tracked keys with their (over-)estimated counts, highest first
+    public synchronized Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (Entry entry : byCount.descendingSet()) {
+            snapshot.put(entry.key, entry.count);
+        }
+        return snapshot;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
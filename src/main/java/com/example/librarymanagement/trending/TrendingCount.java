@@ -0,0 +1,40 @@
+package com.example.librarymanagement.trending;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Borrows of one book, or searches for one term, during one closed trending bucket. Written by
+// TrendingService when the bucket closes and read back on startup to refill the window; rows
+// older than the window are deleted.
+@Entity
+@Table(name = "trending_counts", indexes = @Index(name = "idx_trending_bucket_start", columnList = "bucket_start"))
+public class TrendingCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // BOOK or SEARCH
+    @Column(name = "kind", nullable = false, length = 10)
+    private String kind;
+
+    // Book id or search term
+    @Column(name = "item_key", nullable = false, length = 100)
+    private String itemKey;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "hits", nullable = false)
+    private long hits;
+
+    // Constructors
+    public TrendingCount() {}
+
+    // Getters (rows are written with JDBC, see TrendingService)
+    public Long getId() { return id; }
+    public String getKind() { return kind; }
+    public String getItemKey() { return itemKey; }
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public long getHits() { return hits; }
+}
@@ -0,0 +1,196 @@
+package com.example.librarymanagement.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Sliding-window counts of borrows per book and of search terms, in a ring of time buckets: a
+// bucket covers bucketMillis, the ring holds the last `buckets` of them, and a slot is recycled
+// when its time comes round again. The window is therefore the current (partial) bucket plus
+// the buckets - 1 before it.
+// Borrows are exact: a LongAdder per book and bucket, so concurrent borrows of one popular book
+// do not contend on a single counter. Search terms are unbounded, so each bucket holds a
+// Count-Min Sketch for their counts and a Space-Saving summary naming the candidates worth asking
+// the sketch about.
+// Time is passed in, which keeps the class free of clocks (and easy to test).
+public class TrendingCounters {
+
+    private static final Comparator<Map.Entry<?, Long>> BY_COUNT = Comparator.comparingLong(Map.Entry::getValue);
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final int sketchDepth;
+    private final int sketchWidth;
+    private final int candidates;
+    private final AtomicReferenceArray<Bucket> ring;
+
+    public TrendingCounters(long bucketMillis, int buckets, int sketchDepth, int sketchWidth, int candidates) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = buckets;
+        this.sketchDepth = sketchDepth;
+        this.sketchWidth = sketchWidth;
+        this.candidates = candidates;
+        this.ring = new AtomicReferenceArray<>(buckets);
+    }
+
+    public void recordBorrow(long bookId, long nowMillis) {
+        addBorrows(bookId, 1, nowMillis);
+    }
+
+    public void addBorrows(long bookId, long count, long nowMillis) {
+        Bucket bucket = bucketAt(nowMillis);
+        if (bucket != null) {
+            bucket.borrows.computeIfAbsent(bookId, id -> new LongAdder()).add(count);
+        }
+    }
+
+    // Expects a normalized term (see TrendingService)
+    public void recordSearch(String term, long nowMillis) {
+        addSearches(term, 1, nowMillis);
+    }
+
+    public void addSearches(String term, long count, long nowMillis) {
+        Bucket bucket = bucketAt(nowMillis);
+        if (bucket != null) {
+            bucket.searches.add(term, count);
+            bucket.candidates.offer(term, count);
+        }
+    }
+
+    public List<Map.Entry<Long, Long>> topBooks(int k, long nowMillis) {
+        Map<Long, Long> totals = new HashMap<>();
+        for (Bucket bucket : live(nowMillis)) {
+            bucket.borrows.forEach((bookId, count) -> totals.merge(bookId, count.sum(), Long::sum));
+        }
+        return top(totals, k);
+    }
+
+    // Candidates are the terms any bucket still tracks; each is scored by summing its estimates
+    public List<Map.Entry<String, Long>> topSearches(int k, long nowMillis) {
+        List<Bucket> live = live(nowMillis);
+        Set<String> terms = new HashSet<>();
+        for (Bucket bucket : live) {
+            terms.addAll(bucket.candidates.snapshot().keySet());
+        }
+        Map<String, Long> totals = new HashMap<>();
+        for (String term : terms) {
+            long total = 0;
+            for (Bucket bucket : live) {
+                total += bucket.searches.estimate(term);
+            }
+            totals.put(term, total);
+        }
+        return top(totals, k);
+    }
+
+    // Buckets that ended after afterIndex and before the one nowMillis falls in, oldest first
+    public List<ClosedBucket> closedBuckets(long afterIndex, long nowMillis) {
+        long current = indexOf(nowMillis);
+        List<ClosedBucket> closed = new ArrayList<>();
+        for (int slot = 0; slot < buckets; slot++) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.index > afterIndex && bucket.index < current) {
+                Map<Long, Long> borrows = new HashMap<>();
+                bucket.borrows.forEach((bookId, count) -> borrows.put(bookId, count.sum()));
+                Map<String, Long> searches = new HashMap<>();
+                for (String term : bucket.candidates.snapshot().keySet()) {
+                    searches.put(term, bucket.searches.estimate(term));
+                }
+                closed.add(new ClosedBucket(bucket.index, bucket.index * bucketMillis, borrows, searches));
+            }
+        }
+        closed.sort(Comparator.comparingLong(ClosedBucket::getIndex));
+        return closed;
+    }
+
+    public long indexOf(long millis) {
+        return Math.floorDiv(millis, bucketMillis);
+    }
+
+    // The bucket for a time, replacing the expired one in its slot. Null for a time older than
+    // the slot already holds (a very late caller), which is simply not counted.
+    private Bucket bucketAt(long millis) {
+        long index = indexOf(millis);
+        int slot = (int) Math.floorMod(index, (long) buckets);
+        while (true) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.index >= index) {
+                return bucket.index == index ? bucket : null;
+            }
+            Bucket fresh = new Bucket(index, new CountMinSketch(sketchDepth, sketchWidth), new SpaceSaving(candidates));
+            if (ring.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private List<Bucket> live(long nowMillis) {
+        long current = indexOf(nowMillis);
+        List<Bucket> live = new ArrayList<>(buckets);
+        for (int slot = 0; slot < buckets; slot++) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.index > current - buckets && bucket.index <= current) {
+                live.add(bucket);
+            }
+        }
+        return live;
+    }
+
+    // Keeps the k largest in a min-heap, then returns them largest first
+    private static <K> List<Map.Entry<K, Long>> top(Map<K, Long> totals, int k) {
+        PriorityQueue<Map.Entry<K, Long>> heap = new PriorityQueue<>(k + 1, BY_COUNT);
+        for (Map.Entry<K, Long> entry : totals.entrySet()) {
+            if (entry.getValue() <= 0) {
+                continue;
+            }
+            heap.add(Map.entry(entry.getKey(), entry.getValue()));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<K, Long>> top = new ArrayList<>(heap);
+        top.sort(BY_COUNT.reversed());
+        return top;
+    }
+
+    private static final class Bucket {
+        final long index;
+        final ConcurrentHashMap<Long, LongAdder> borrows = new ConcurrentHashMap<>();
+        final CountMinSketch searches;
+        final SpaceSaving candidates;
+
+        Bucket(long index, CountMinSketch searches, SpaceSaving candidates) {
+            this.index = index;
+            this.searches = searches;
+            this.candidates = candidates;
+        }
+    }
+
+    // What a finished bucket counted, for writing to the database
+    public static final class ClosedBucket {
+        private final long index;
+        private final long startMillis;
+        private final Map<Long, Long> borrows;
+        private final Map<String, Long> searches;
+
+        ClosedBucket(long index, long startMillis, Map<Long, Long> borrows, Map<String, Long> searches) {
+            this.index = index;
+            this.startMillis = startMillis;
+            this.borrows = borrows;
+            this.searches = searches;
+        }
+
+        public long getIndex() { return index; }
+        public long getStartMillis() { return startMillis; }
+        public Map<Long, Long> getBorrows() { return borrows; }
+        public Map<String, Long> getSearches() { return searches; }
+    }
+}
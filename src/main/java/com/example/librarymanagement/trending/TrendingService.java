@@ -0,0 +1,184 @@
+package com.example.librarymanagement.trending;
+
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.dto.BookResponse;
+import com.example.librarymanagement.dto.TrendingResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Trending books (most borrowed) and top search terms over the last window, counted in memory by
+// TrendingCounters. Each bucket is written to trending_counts once it closes, and the rows still
+// inside the window are read back on startup; only the bucket open at shutdown is lost.
+@Service
+public class TrendingService {
+
+    public static final int MAX_LIMIT = 50;
+    private static final int MAX_TERM_LENGTH = 100;
+
+    private static final String INSERT_COUNT =
+            "INSERT INTO trending_counts (kind, item_key, bucket_start, hits) VALUES (?, ?, ?, ?)";
+
+    private static final String DELETE_BEFORE = "DELETE FROM trending_counts WHERE bucket_start < ?";
+
+    private static final String COUNTS_SINCE =
+            "SELECT kind, item_key, bucket_start, hits FROM trending_counts WHERE bucket_start >= ?";
+
+    private final TrendingCounters counters;
+    private final Duration window;
+    private final Duration refresh;
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Buckets up to this index are in the database (or were lost in a restart)
+    private long lastFlushedIndex;
+
+    // The ranking is recomputed at most once per refresh interval, however often it is requested
+    private volatile TrendingResponse cached;
+    private volatile long cachedAt;
+
+    public TrendingService(@Value("${library.trending.window:PT1H}") Duration window,
+                           @Value("${library.trending.bucket:PT5M}") Duration bucket,
+                           @Value("${library.trending.sketch-depth:4}") int sketchDepth,
+                           @Value("${library.trending.sketch-width:2048}") int sketchWidth,
+                           @Value("${library.trending.candidates:200}") int candidates,
+                           @Value("${library.trending.refresh:PT5S}") Duration refresh,
+                           BookRepository bookRepository, JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        int buckets = (int) Math.max(1, window.toMillis() / bucket.toMillis());
+        this.counters = new TrendingCounters(bucket.toMillis(), buckets, sketchDepth, sketchWidth, candidates);
+        this.window = window;
+        this.refresh = refresh;
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lastFlushedIndex = counters.indexOf(System.currentTimeMillis()) - 1;
+    }
+
+    // After commit only: a rolled-back borrow is not counted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        if (event.getType() == BookEvent.Type.BORROWED) {
+            counters.recordBorrow(event.getBookId(), System.currentTimeMillis());
+        }
+    }
+
+    // Terms are counted case- and whitespace-insensitively
+    public void recordSearch(String keyword) {
+        if (keyword == null) {
+            return;
+        }
+        String term = keyword.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        if (term.isEmpty()) {
+            return;
+        }
+        if (term.length() > MAX_TERM_LENGTH) {
+            term = term.substring(0, MAX_TERM_LENGTH);
+        }
+        counters.recordSearch(term, System.currentTimeMillis());
+    }
+
+    public TrendingResponse trending(int limit) {
+        long now = System.currentTimeMillis();
+        TrendingResponse response = cached;
+        if (response == null || now - cachedAt >= refresh.toMillis()) {
+            response = compute(now);
+            cached = response;
+            cachedAt = now;
+        }
+        return new TrendingResponse(response.getGeneratedAt(), response.getWindowMinutes(),
+                response.getBooks().subList(0, Math.min(limit, response.getBooks().size())),
+                response.getSearches().subList(0, Math.min(limit, response.getSearches().size())));
+    }
+
+    private TrendingResponse compute(long now) {
+        List<Map.Entry<Long, Long>> topBooks = counters.topBooks(MAX_LIMIT, now);
+        Map<Long, BookResponse> books = bookRepository.findResponsesByIdIn(
+                        topBooks.stream().map(Map.Entry::getKey).toList()).stream()
+                .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+
+        // Books deleted since they were borrowed drop out of the list
+        List<TrendingResponse.BookItem> bookItems = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : topBooks) {
+            BookResponse book = books.get(entry.getKey());
+            if (book != null) {
+                bookItems.add(new TrendingResponse.BookItem(book.getId(), book.getTitle(), book.getAuthor(),
+                        entry.getValue()));
+            }
+        }
+        List<TrendingResponse.SearchItem> searchItems = counters.topSearches(MAX_LIMIT, now).stream()
+                .map(entry -> new TrendingResponse.SearchItem(entry.getKey(), entry.getValue()))
+                .toList();
+        return new TrendingResponse(toDateTime(now), window.toMinutes(), bookItems, searchItems);
+    }
+
+    // Writes the buckets closed since the last flush and drops rows that left the window
+    @Scheduled(fixedDelayString = "${library.trending.bucket:PT5M}")
+    public synchronized void flush() {
+        long now = System.currentTimeMillis();
+        List<TrendingCounters.ClosedBucket> closed = counters.closedBuckets(lastFlushedIndex, now);
+        List<Object[]> rows = new ArrayList<>();
+        for (TrendingCounters.ClosedBucket bucket : closed) {
+            LocalDateTime start = toDateTime(bucket.getStartMillis());
+            bucket.getBorrows().forEach((bookId, hits) -> rows.add(new Object[]{"BOOK", bookId.toString(), start, hits}));
+            bucket.getSearches().forEach((term, hits) -> rows.add(new Object[]{"SEARCH", term, start, hits}));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_COUNT, rows);
+            }
+            jdbcTemplate.update(DELETE_BEFORE, toDateTime(now - window.toMillis()));
+        });
+        lastFlushedIndex = counters.indexOf(now) - 1;
+        if (!closed.isEmpty()) {
+            System.out.println("🔥 Trending counts flushed: " + closed.size() + " buckets, " + rows.size() + " rows");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void restore() {
+        long since = System.currentTimeMillis() - window.toMillis();
+        int[] rows = {0};
+        jdbcTemplate.query(COUNTS_SINCE, (RowCallbackHandler) rs -> {
+            String key = rs.getString("item_key");
+            long bucketStart = toMillis(rs.getObject("bucket_start", LocalDateTime.class));
+            long hits = rs.getLong("hits");
+            if ("BOOK".equals(rs.getString("kind"))) {
+                counters.addBorrows(Long.parseLong(key), hits, bucketStart);
+            } else {
+                counters.addSearches(key, hits, bucketStart);
+            }
+            rows[0]++;
+        }, toDateTime(since));
+        cached = null;
+        System.out.println("🔥 Trending window restored from " + rows[0] + " rows");
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
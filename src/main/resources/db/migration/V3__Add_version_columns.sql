@@ -0,0 +1,3 @@
+-- Optimistic locking versions, also used as HTTP ETags
+ALTER TABLE books ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE members ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Denormalized number of books each member currently has on loan
+ALTER TABLE members ADD COLUMN active_loan_count INT NOT NULL DEFAULT 0;
+
+UPDATE members m
+SET active_loan_count = (SELECT COUNT(*) FROM books b WHERE b.borrowed_by_member_id = m.id);
@@ -0,0 +1,20 @@
+-- Append-only late-fee ledger: one row per overdue loan per day, a re-run of the same day is rejected by the key
+CREATE TABLE fines (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    member_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    accrual_date DATE NOT NULL,
+    days_overdue INT NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_fines_book_day UNIQUE (book_id, accrual_date)
+);
+
+CREATE INDEX idx_fines_member ON fines (member_id);
+
+-- Running total per member, maintained together with the ledger
+CREATE TABLE member_balances (
+    member_id BIGINT PRIMARY KEY,
+    balance DECIMAL(12, 2) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,7 @@
+-- Notifications written with the change they describe and deleted once delivered
+CREATE TABLE notification_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    member_name VARCHAR(50) NOT NULL,
+    message VARCHAR(8000) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,28 @@
+-- Every loan, kept after the return; open loans have no returned_at
+CREATE TABLE loans (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    book_id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    author VARCHAR(50),
+    borrowed_at TIMESTAMP NOT NULL,
+    due_date TIMESTAMP NULL,
+    returned_at TIMESTAMP NULL
+);
+
+CREATE INDEX idx_loans_book_returned ON loans (book_id, returned_at);
+CREATE INDEX idx_loans_borrowed_at ON loans (borrowed_at);
+CREATE INDEX idx_loans_returned_at ON loans (returned_at);
+
+-- Daily and weekly loan counts and loan time per book, author and member, for reports
+CREATE TABLE circulation_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    dimension VARCHAR(10) NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    dimension_key VARCHAR(100) NOT NULL,
+    loan_count BIGINT NOT NULL,
+    return_count BIGINT NOT NULL,
+    loan_seconds BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_rollups_period UNIQUE (dimension, granularity, period_start, dimension_key)
+);
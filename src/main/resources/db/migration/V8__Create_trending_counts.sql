@@ -0,0 +1,10 @@
+-- Borrows per book and searches per term for each closed trending bucket (a few minutes long)
+CREATE TABLE trending_counts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    kind VARCHAR(10) NOT NULL,
+    item_key VARCHAR(100) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    hits BIGINT NOT NULL
+);
+
+CREATE INDEX idx_trending_bucket_start ON trending_counts (bucket_start);
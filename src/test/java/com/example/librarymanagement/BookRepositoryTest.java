@@ -1,9 +1,18 @@
 package com.example.librarymanagement;
 
+import com.example.librarymanagement.dto.BookResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
@@ -16,12 +25,27 @@ import static org.junit.jupiter.api.Assertions.*;
 @ActiveProfiles("test")
 class BookRepositoryTest {
 
+    // The JPA slice leaves out SecurityConfig, but the application class seeds users with an encoder
+    @TestConfiguration
+    static class PasswordEncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+
     @Autowired
     private BookRepository bookRepository;
 
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Member testMember;
 
     @BeforeEach
@@ -157,6 +181,35 @@ class BookRepositoryTest {
         assertEquals(3, count);
     }
 
+    @Test
+    void shouldProjectBooksWithBorrowerInOneQuery() {
+        // Arrange
+        Book borrowed = new Book("Borrowed Book", "Author A");
+        borrowed.borrowBook(testMember, 14);
+        bookRepository.save(borrowed);
+        bookRepository.save(new Book("Available Book", "Author A"));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<BookResponse> books = bookRepository.findResponsesByAuthor("Author A");
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, books.size());
+        BookResponse projected = books.stream()
+                .filter(book -> !book.isAvailable())
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Borrowed Book", projected.getTitle());
+        assertEquals(testMember.getId(), projected.getBorrowedByMemberId());
+        assertEquals("Test Member", projected.getBorrowedByMemberName());
+        assertFalse(projected.isOverdue());
+    }
+
     @Test
     void shouldDeleteBook() {
         // Arrange
@@ -170,4 +223,39 @@ class BookRepositoryTest {
         // Assert
         assertFalse(found.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldChangeLoanStateOnlyWhenTheGuardHolds() {
+        Book book = bookRepository.saveAndFlush(new Book("Guarded Book", "Guard Author"));
+        LocalDateTime now = LocalDateTime.now();
+
+        assertTrue(bookRepository.markBorrowed(book.getId(), testMember.getId(), now, now.plusDays(14)));
+        Book borrowed = reload(book.getId());
+        assertFalse(borrowed.isAvailable());
+        assertEquals(testMember.getId(), borrowed.getBorrowedBy().getId());
+
+        // The second borrower of the same copy loses, whatever it read before: no row is touched,
+        // so the first loan and its version stay as they were
+        Member other = memberRepository.save(new Member("Other Member", "other@test.com", "456"));
+        assertFalse(bookRepository.markBorrowed(book.getId(), other.getId(), now, now.plusDays(7)));
+        Book unchanged = reload(book.getId());
+        assertEquals(testMember.getId(), unchanged.getBorrowedBy().getId());
+        assertEquals(borrowed.getVersion(), unchanged.getVersion());
+        assertEquals(borrowed.getDueDate(), unchanged.getDueDate());
+
+        assertTrue(bookRepository.markReturned(book.getId()));
+        Book returned = reload(book.getId());
+        assertTrue(returned.isAvailable());
+        assertNull(returned.getBorrowedBy());
+
+        // Returning a copy that is already back is refused the same way
+        assertFalse(bookRepository.markReturned(book.getId()));
+        assertEquals(returned.getVersion(), reload(book.getId()).getVersion());
+    }
+
+    // The guarded updates go around the persistence context, so read the row afresh
+    private Book reload(Long bookId) {
+        entityManager.clear();
+        return bookRepository.findById(bookId).orElseThrow();
+    }
+}
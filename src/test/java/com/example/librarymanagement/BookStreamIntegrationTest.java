@@ -0,0 +1,115 @@
+package com.example.librarymanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the stream is written on an async thread with its own transaction,
+// which only sees committed rows
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookStreamIntegrationTest {
+
+    // More than two clear() intervals of LibraryService.streamAllBooks
+    private static final int BOOK_COUNT = 1200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> bookIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            books.add(new Book("Streamed Book " + i, "Stream Author " + (i % 10)));
+        }
+        bookRepository.saveAll(books).forEach(book -> bookIds.add(book.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllByIdInBatch(bookIds);
+    }
+
+    @Test
+    void shouldStreamEveryBookOncePerLineThroughTheAsyncDispatch() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/library/books/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The async dispatch goes through the security filter chain again
+        MvcResult finished = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String body = finished.getResponse().getContentAsString();
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(bookRepository.count(), lines.length);
+
+        Map<Long, String> titles = new HashMap<>();
+        for (String line : lines) {
+            JsonNode book = objectMapper.readTree(line);
+            assertNull(titles.put(book.get("id").asLong(), book.get("title").asText()),
+                    "book streamed twice: " + line);
+        }
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            assertEquals("Streamed Book " + i, titles.get(bookIds.get(i)));
+        }
+    }
+
+    @Test
+    void shouldClearThePersistenceContextWhileStreaming() {
+        Set<Long> streamed = new HashSet<>();
+        AtomicInteger mostManaged = new AtomicInteger();
+
+        libraryService.streamAllBooks(book -> {
+            streamed.add(book.getId());
+            int managed = entityManager.unwrap(SessionImplementor.class)
+                    .getPersistenceContextInternal().getNumberOfManagedEntities();
+            mostManaged.accumulateAndGet(managed, Math::max);
+        });
+
+        assertTrue(streamed.containsAll(bookIds));
+        // Without the periodic clear() every streamed book would still be managed at the end
+        assertTrue(mostManaged.get() < BOOK_COUNT, "managed entities peaked at " + mostManaged.get());
+    }
+}
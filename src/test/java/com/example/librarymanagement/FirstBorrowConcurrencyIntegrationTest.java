@@ -0,0 +1,77 @@
+package com.example.librarymanagement;
+
+import com.example.librarymanagement.dto.BorrowBookRequest;
+import com.example.librarymanagement.dto.CreateBookRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: every borrow commits on its own thread, as concurrent requests would
+@SpringBootTest
+@ActiveProfiles("test")
+class FirstBorrowConcurrencyIntegrationTest {
+
+    // library.max-books-per-user in the test profile
+    private static final int BORROWS = 3;
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private final List<Long> bookIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        // Deleting a borrowed book gives the loan back first
+        bookIds.forEach(libraryService::deleteBook);
+        // By id in one statement: the loan counter UPDATEs have moved the member's version on
+        memberRepository.findByEmail("Concurrent Patron@library.com")
+                .ifPresent(member -> memberRepository.deleteAllByIdInBatch(List.of(member.getId())));
+    }
+
+    @Test
+    void shouldCreateANewPatronOnceWhenTheirFirstBorrowsRace() throws Exception {
+        for (int i = 0; i < BORROWS; i++) {
+            bookIds.add(libraryService.addBook(new CreateBookRequest("Race Book " + i, "Race Author")).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(BORROWS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> borrows = new ArrayList<>();
+        try {
+            for (Long bookId : bookIds) {
+                borrows.add(executor.submit(() -> {
+                    start.await();
+                    return libraryService.borrowBook(bookId, new BorrowBookRequest("Concurrent Patron"));
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> borrow : borrows) {
+                assertTrue(borrow.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long patrons = memberRepository.findAll().stream()
+                .filter(member -> member.getEmail().equals("Concurrent Patron@library.com"))
+                .count();
+        assertEquals(1, patrons);
+        Member patron = memberRepository.findByEmail("Concurrent Patron@library.com").orElseThrow();
+        assertEquals(BORROWS, patron.getActiveLoanCount());
+    }
+}
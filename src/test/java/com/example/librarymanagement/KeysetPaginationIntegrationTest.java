@@ -0,0 +1,214 @@
+package com.example.librarymanagement;
+
+import com.example.librarymanagement.dto.BookResponse;
+import com.example.librarymanagement.dto.CreateBookRequest;
+import com.example.librarymanagement.dto.CursorSlice;
+import com.example.librarymanagement.dto.MemberResponse;
+import com.example.librarymanagement.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Pages of three through rows with duplicate sort keys, so ties straddle page boundaries.
+// Not @Transactional: the search index only sees committed books. Other test contexts share the
+// database, so each scroll starts from a cursor just before this test's rows and stops after them.
+@SpringBootTest
+@ActiveProfiles("test")
+class KeysetPaginationIntegrationTest {
+
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2001, 1, 1, 0, 0);
+    private static final LocalDateTime SECOND_DAY = LocalDateTime.of(2001, 1, 2, 0, 0);
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private final List<Member> members = new ArrayList<>();
+    private final List<Long> bookIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        bookIds.forEach(libraryService::deleteBook);
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    void shouldScrollMembersByNameWithoutGapsOrDuplicates() {
+        createMembers();
+
+        List<MemberResponse> ascending = scrollMembers("name", "asc",
+                new SeekCursor("name", "asc", 0L, "Keyset"), member -> member.getName().startsWith("Keyset "));
+        assertEquals(members.size(), ascending.size());
+        assertSorted(ascending, Comparator.comparing(MemberResponse::getName).thenComparing(MemberResponse::getId));
+
+        List<MemberResponse> descending = scrollMembers("name", "desc",
+                new SeekCursor("name", "desc", Long.MAX_VALUE, "Keyset Twin"), member -> member.getName().startsWith("Keyset "));
+        assertEquals(members.size(), descending.size());
+        assertSorted(descending, Comparator.comparing(MemberResponse::getName).thenComparing(MemberResponse::getId).reversed());
+    }
+
+    @Test
+    void shouldScrollMembersByMembershipDateBreakingTiesOnId() {
+        createMembers();
+        Predicate<MemberResponse> ours = member -> !member.getMembershipDate().isBefore(FIRST_DAY)
+                && !member.getMembershipDate().isAfter(SECOND_DAY);
+
+        List<MemberResponse> ascending = scrollMembers("membershipDate", "asc",
+                new SeekCursor("membershipDate", "asc", 0L, FIRST_DAY.minusDays(1).toString()), ours);
+        assertEquals(members.size(), ascending.size());
+        assertSorted(ascending, Comparator.comparing(MemberResponse::getMembershipDate).thenComparing(MemberResponse::getId));
+
+        List<MemberResponse> descending = scrollMembers("membershipDate", "desc",
+                new SeekCursor("membershipDate", "desc", Long.MAX_VALUE, SECOND_DAY.toString()), ours);
+        assertEquals(members.size(), descending.size());
+        assertSorted(descending, Comparator.comparing(MemberResponse::getMembershipDate)
+                .thenComparing(MemberResponse::getId).reversed());
+    }
+
+    @Test
+    void shouldScrollMembersByEmailAndId() {
+        createMembers();
+
+        List<MemberResponse> byEmail = scrollMembers("email", "desc",
+                new SeekCursor("email", "desc", 0L, "keyset~"), member -> member.getEmail().startsWith("keyset."));
+        assertEquals(members.size(), byEmail.size());
+        assertSorted(byEmail, Comparator.comparing(MemberResponse::getEmail).reversed());
+
+        long firstId = members.get(0).getId();
+        List<MemberResponse> byId = scrollMembers("id", "asc", new SeekCursor("id", "asc", firstId - 1, ""),
+                member -> member.getName().startsWith("Keyset "));
+        assertEquals(members.stream().map(Member::getId).toList(), byId.stream().map(MemberResponse::getId).toList());
+    }
+
+    @Test
+    void shouldRejectACursorFromAnotherSortOrder() {
+        createMembers();
+        String cursor = memberService.scrollMembers(null, 2, "name", "asc", false).getNextCursor();
+
+        assertThrows(InvalidPageRequestException.class, () -> memberService.scrollMembers(cursor, 2, "name", "desc", false));
+        assertThrows(InvalidPageRequestException.class, () -> memberService.scrollMembers(cursor, 2, "email", "asc", false));
+        assertThrows(InvalidPageRequestException.class, () -> libraryService.scrollBooks(cursor, 2, "title", false));
+        assertThrows(InvalidPageRequestException.class, () -> memberService.scrollMembers(null, 2, "phone", "asc", false));
+    }
+
+    @Test
+    void shouldScrollBooksByTitleThroughDuplicateTitles() {
+        createBooks("Keyset Duplicate", 7);
+        createBooks("Keyset Single", 1);
+
+        List<BookResponse> books = scrollBooks("title", new SeekCursor("title", "asc", 0L, "Keyset"),
+                book -> book.getTitle().startsWith("Keyset "));
+        assertEquals(bookIds, books.stream().map(BookResponse::getId).toList());
+    }
+
+    @Test
+    void shouldReportTheLastPageWithoutAnEmptyExtraPage() {
+        createBooks("Keyset Tail", 7);
+        SeekCursor afterFourth = new SeekCursor("id", "asc", bookIds.get(3), "");
+
+        // Exactly three rows left: no next page
+        CursorSlice<BookResponse> last = libraryService.scrollBooks(afterFourth.encode(), 3, "id", false);
+        assertEquals(bookIds.subList(4, 7), last.getContent().stream().map(BookResponse::getId).toList());
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+
+        // One fewer than left: the cursor picks up at the last row
+        CursorSlice<BookResponse> shorter = libraryService.scrollBooks(afterFourth.encode(), 2, "id", false);
+        assertTrue(shorter.isHasNext());
+        CursorSlice<BookResponse> rest = libraryService.scrollBooks(shorter.getNextCursor(), 2, "id", false);
+        assertEquals(List.of(bookIds.get(6)), rest.getContent().stream().map(BookResponse::getId).toList());
+        assertFalse(rest.isHasNext());
+    }
+
+    @Test
+    void shouldScrollSearchHitsWithEqualScores() {
+        createBooks("Zyxkeyset Duplicate", 7);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorSlice<BookResponse> page = libraryService.scrollSearch("zyxkeyset", cursor, 3, false);
+            page.getContent().forEach(book -> seen.add(book.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+            assertEquals(page.isHasNext(), cursor != null);
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(bookIds.size(), new HashSet<>(seen).size());
+        assertEquals(new HashSet<>(bookIds), new HashSet<>(seen));
+
+        String exactCursor = libraryService.scrollSearch("zyxkeyset", null, 3, false).getNextCursor();
+        assertThrows(InvalidPageRequestException.class, () -> libraryService.scrollSearch("zyxkeyset", exactCursor, 3, true));
+    }
+
+    // Five members share a name, and four (in id order) a membership date
+    private void createMembers() {
+        for (int i = 1; i <= 7; i++) {
+            Member member = new Member(i <= 5 ? "Keyset Twin" : "Keyset Solo " + i, "keyset." + i + "@library.com", "");
+            member.setMembershipDate(i % 2 == 1 ? FIRST_DAY : SECOND_DAY);
+            members.add(memberRepository.save(member));
+        }
+    }
+
+    private void createBooks(String title, int count) {
+        for (int i = 0; i < count; i++) {
+            bookIds.add(libraryService.addBook(new CreateBookRequest(title, "Keyset Author")).getId());
+        }
+    }
+
+    private List<MemberResponse> scrollMembers(String sortBy, String direction, SeekCursor start,
+                                               Predicate<MemberResponse> ours) {
+        return scroll(cursor -> memberService.scrollMembers(cursor, 3, sortBy, direction, false), start, ours);
+    }
+
+    private List<BookResponse> scrollBooks(String sortBy, SeekCursor start, Predicate<BookResponse> ours) {
+        return scroll(cursor -> libraryService.scrollBooks(cursor, 3, sortBy, false), start, ours);
+    }
+
+    // Follows next cursors until a page runs past this test's rows (assertSorted then rules out repeats)
+    private static <T> List<T> scroll(Function<String, CursorSlice<T>> fetch, SeekCursor start, Predicate<T> ours) {
+        List<T> rows = new ArrayList<>();
+        String cursor = start.encode();
+        while (cursor != null) {
+            CursorSlice<T> page = fetch.apply(cursor);
+            assertTrue(page.getContent().size() <= 3);
+            assertEquals(page.isHasNext(), page.getNextCursor() != null);
+            boolean pastOurs = false;
+            for (T row : page.getContent()) {
+                if (ours.test(row)) {
+                    assertFalse(pastOurs, "row after the end of this test's rows: " + row);
+                    rows.add(row);
+                } else if (!rows.isEmpty()) {
+                    pastOurs = true;
+                }
+            }
+            cursor = pastOurs ? null : page.getNextCursor();
+        }
+        return rows;
+    }
+
+    private static <T> void assertSorted(List<T> rows, Comparator<T> order) {
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(order.compare(rows.get(i - 1), rows.get(i)) < 0, "out of order at " + i);
+        }
+    }
+}
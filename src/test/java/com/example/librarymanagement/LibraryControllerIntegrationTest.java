@@ -1,11 +1,16 @@
 package com.example.librarymanagement;
 
+import com.example.librarymanagement.cache.BookResponseCache;
+import com.example.librarymanagement.dto.BatchLoanRequest;
 import com.example.librarymanagement.dto.CreateBookRequest;
 import com.example.librarymanagement.security.JwtUtil;
 import com.example.librarymanagement.security.Role;
 import com.example.librarymanagement.security.User;
 import com.example.librarymanagement.security.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +24,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -50,6 +59,12 @@ class LibraryControllerIntegrationTest {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private BookResponseCache bookResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private String adminToken;
     private String memberToken;
 
@@ -100,6 +115,55 @@ class LibraryControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.author", is(book.getAuthor())));
     }
 
+    @Test
+    void shouldReturnNotModifiedForUnchangedBook() throws Exception {
+        Book book = bookRepository.findAll().get(0);
+
+        String etag = mockMvc.perform(get("/api/v1/library/books/" + book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/library/books/" + book.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/library/books/" + book.getId()).header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldReturnNotModifiedForAnUnchangedBookMissingFromTheCache() throws Exception {
+        Book book = bookRepository.findAll().get(0);
+        String etag = mockMvc.perform(get("/api/v1/library/books/" + book.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Cold lookup cache and second-level cache: the book is loaded, then still answered with a 304
+        bookResponseCache.invalidate(book.getId());
+        entityManagerFactory.getCache().evict(Book.class, book.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/library/books/" + book.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // Warm again: the next poll needs no query
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/library/books/" + book.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldReturnNotModifiedForUnchangedCatalog() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/library/books"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/library/books").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void shouldReturn404WhenBookNotFound() throws Exception {
         mockMvc.perform(get("/api/v1/library/books/999"))
@@ -159,6 +223,37 @@ class LibraryControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", containsString("deleted")));
     }
 
+    @Test
+    void shouldBorrowAndReturnBooksInBatch() throws Exception {
+        List<Long> ids = bookRepository.findAll().stream().map(Book::getId).collect(Collectors.toList());
+        ids.add(999_999L);
+        BatchLoanRequest request = new BatchLoanRequest("Batch Reader", ids);
+
+        mockMvc.perform(post("/api/v1/library/books/borrow-batch")
+                        .header("Authorization", "Bearer " + memberToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded", is(2)))
+                .andExpect(jsonPath("$.data.failed", is(1)))
+                .andExpect(jsonPath("$.data.results[2].message", containsString("not found")));
+
+        // Already borrowed books are rejected item by item
+        mockMvc.perform(post("/api/v1/library/books/borrow-batch")
+                        .header("Authorization", "Bearer " + memberToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(jsonPath("$.data.succeeded", is(0)))
+                .andExpect(jsonPath("$.data.results[0].message", containsString("not available")));
+
+        mockMvc.perform(post("/api/v1/library/books/return-batch")
+                        .header("Authorization", "Bearer " + memberToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded", is(2)));
+    }
+
     @Test
     void shouldReturn400WhenAddingBookWithInvalidData() throws Exception {
         CreateBookRequest request = new CreateBookRequest("", "");  // Invalid - blank fields
@@ -172,6 +267,50 @@ class LibraryControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", containsString("Validation failed")));
     }
 
+    @Test
+    void shouldReturn400WhenSearchingWithInvalidPage() throws Exception {
+        mockMvc.perform(get("/api/v1/library/books/search").param("keyword", "clean").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("size >= 1")));
+
+        mockMvc.perform(get("/api/v1/library/books/search").param("keyword", "clean").param("page", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)));
+
+        // page * size would overflow int
+        mockMvc.perform(get("/api/v1/library/books/search").param("keyword", "clean")
+                        .param("page", String.valueOf(Integer.MAX_VALUE)).param("size", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("scroll")));
+
+        mockMvc.perform(get("/api/v1/library/books/search").param("keyword", "clean")
+                        .param("page", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturn400ForFilterPagesPastTheMaximumDepth() throws Exception {
+        mockMvc.perform(get("/api/v1/library/books/filter").param("available", "true")
+                        .param("page", String.valueOf(Integer.MAX_VALUE)).param("size", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("scroll")));
+
+        mockMvc.perform(get("/api/v1/library/books/filter").param("available", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)));
+    }
+
+    @Test
+    void shouldReturn400ForAvailablePagesPastTheMaximumDepth() throws Exception {
+        mockMvc.perform(get("/api/v1/library/books/available")
+                        .param("page", String.valueOf(Integer.MAX_VALUE)).param("size", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("scroll")));
+
+        mockMvc.perform(get("/api/v1/library/books/available").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void shouldGetLibraryInfo() throws Exception {
         mockMvc.perform(get("/api/v1/library/info"))
@@ -0,0 +1,99 @@
+package com.example.librarymanagement;
+
+import com.example.librarymanagement.dto.MemberResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Counts the SQL statements behind member responses, so a lazy load creeping back in shows up as a failure.
+// Not @Transactional: every service call opens its own session, like a request does with open-in-view off.
+@SpringBootTest
+@ActiveProfiles("test")
+class MemberQueryCountIntegrationTest {
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Member> members = new ArrayList<>();
+    private final List<Book> books = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 3; i++) {
+            Member member = memberRepository.save(
+                    new Member("QueryCount Member " + i, "querycount" + i + "@library.com", ""));
+            members.add(member);
+            for (int j = 1; j <= 2; j++) {
+                Book book = new Book("QueryCount Book " + i + "-" + j, "QueryCount Author");
+                book.borrowBook(member, 14);
+                books.add(bookRepository.save(book));
+            }
+        }
+        // Loans saved straight through the repository bypass the counter
+        memberRepository.reconcileActiveLoanCounts();
+
+        // Cold second-level cache, so every count below is what the database actually sees
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll(books);
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    void shouldLoadMemberWithBorrowedBooksInOneQuery() {
+        MemberResponse response = memberService.findMemberById(members.get(0).getId()).orElseThrow();
+
+        assertEquals(2, response.getBorrowedBooks().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldLoadMemberByEmailInOneQuery() {
+        MemberResponse response = memberService.findMemberByEmail("querycount2@library.com").orElseThrow();
+
+        assertEquals(2, response.getBorrowedBooks().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldLoadBorrowedBooksInOneQuery() {
+        assertEquals(2, memberService.getMemberBorrowedBooks(members.get(1).getId()).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldCountLoansOfMemberListsWithoutLoadingThem() {
+        List<MemberResponse> found = memberService.searchMembers("QueryCount Member");
+
+        assertEquals(3, found.size());
+        assertTrue(found.stream().allMatch(member -> member.getBorrowedBooksCount() == 2));
+        // Loan counts come from members.active_loan_count, so the members query is the only one
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.librarymanagement;
+
+import com.example.librarymanagement.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeekCursorTest {
+
+    @Test
+    void shouldRoundTripValuesContainingTheSeparator() {
+        String encoded = new SeekCursor("title", "asc", 42L, "Java | The Complete Reference").encode();
+
+        SeekCursor decoded = SeekCursor.decode(encoded, "title", "asc");
+        assertEquals(42L, decoded.getId());
+        assertEquals("Java | The Complete Reference", decoded.getValue());
+        // URL-safe, so it can go in a query parameter as is
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void shouldRoundTripDatesAndScores() {
+        LocalDateTime joined = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000);
+        assertEquals(joined, SeekCursor.decode(
+                new SeekCursor("membershipDate", "desc", 1L, joined.toString()).encode(), "membershipDate", "desc")
+                .getDateTimeValue());
+        assertEquals(1.75, SeekCursor.decode(
+                new SeekCursor("score", "desc", 1L, "1.75").encode(), "score", "desc").getDoubleValue());
+    }
+
+    @Test
+    void shouldRejectACursorIssuedForAnotherSortOrder() {
+        String byNameAscending = new SeekCursor("name", "asc", 1L, "Alice").encode();
+
+        assertThrows(InvalidPageRequestException.class, () -> SeekCursor.decode(byNameAscending, "name", "desc"));
+        assertThrows(InvalidPageRequestException.class, () -> SeekCursor.decode(byNameAscending, "email", "asc"));
+    }
+
+    @Test
+    void shouldRejectMalformedCursors() {
+        assertThrows(InvalidPageRequestException.class, () -> SeekCursor.decode("not base64!", "id", "asc"));
+        String missingParts = Base64.getUrlEncoder().encodeToString("id|asc".getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidPageRequestException.class, () -> SeekCursor.decode(missingParts, "id", "asc"));
+        String badId = Base64.getUrlEncoder().encodeToString("id|asc|x|".getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidPageRequestException.class, () -> SeekCursor.decode(badId, "id", "asc"));
+        String badDate = new SeekCursor("membershipDate", "asc", 1L, "yesterday").encode();
+        assertThrows(InvalidPageRequestException.class,
+                () -> SeekCursor.decode(badDate, "membershipDate", "asc").getDateTimeValue());
+    }
+}
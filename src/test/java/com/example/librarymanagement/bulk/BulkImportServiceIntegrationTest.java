@@ -0,0 +1,127 @@
+package com.example.librarymanagement.bulk;
+
+import com.example.librarymanagement.Book;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.MemberRepository;
+import com.example.librarymanagement.dto.ImportReport;
+import com.example.librarymanagement.journal.JournalRecord;
+import com.example.librarymanagement.journal.MutationJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: the import commits chunk by chunk on its own
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "library.import.chunk-size=2")
+class BulkImportServiceIntegrationTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MutationJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void shouldImportValidCsvRowsAndReportTheRest() throws IOException {
+        ImportReport report = bulkImportService.importBooks(body(
+                "title,author",
+                "Clean Code,Robert Martin",
+                "\"Refactoring, 2nd Edition\",Martin Fowler",
+                ",Nobody",
+                "Effective Java,Joshua Bloch,extra",
+                "Domain-Driven Design,Eric Evans"), DataFormat.CSV);
+
+        assertEquals(5, report.getProcessed());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(4, 5), report.getErrors().stream().map(ImportReport.RowError::getLine).toList());
+        assertTrue(report.getErrors().get(0).getMessage().contains("Title is required"));
+        assertEquals(3, bookRepository.count());
+        assertEquals(1, bookRepository.findByAuthor("Martin Fowler").size());
+    }
+
+    @Test
+    void shouldRejectDuplicateAndMalformedMembers() throws IOException {
+        ImportReport report = bulkImportService.importMembers(body(
+                "{\"name\":\"Alice\",\"email\":\"alice@library.com\"}",
+                "{\"name\":\"Bob\",\"email\":\"bob@library.com\",\"phone\":\"555-0101\"}",
+                "{\"name\":\"Alice Again\",\"email\":\"alice@library.com\"}",
+                "{\"name\":\"Carol\",",
+                "{\"name\":\"Dave\",\"email\":\"not-an-email\"}"), DataFormat.NDJSON);
+
+        assertEquals(2, report.getImported());
+        // Parse and validation errors are reported as rows are read, duplicates when their chunk is written
+        assertEquals(List.of(3, 4, 5), report.getErrors().stream().map(ImportReport.RowError::getLine).sorted().toList());
+        assertTrue(memberRepository.findByEmail("bob@library.com").isPresent());
+        assertEquals(2, memberRepository.count());
+    }
+
+    @Test
+    void shouldJournalEveryImportedRowWithItsId() throws IOException {
+        long start = journal.durableOffset();
+
+        // Three chunks of two, the last one short
+        bulkImportService.importBooks(body(
+                "title,author",
+                "Journal Book 1,Journal Author",
+                "Journal Book 2,Journal Author",
+                ",Nobody",
+                "Journal Book 3,Journal Author",
+                "Journal Book 4,Journal Author",
+                "Journal Book 5,Journal Author"), DataFormat.CSV);
+        bulkImportService.importMembers(body(
+                "{\"name\":\"Journal Reader\",\"email\":\"journal.reader@library.com\"}"), DataFormat.NDJSON);
+
+        List<JournalRecord> records = journal.read(start, 100);
+        Map<Long, String> journaledTitles = records.stream()
+                .filter(record -> record.getType() == JournalRecord.Type.BOOK_ADDED)
+                .collect(Collectors.toMap(JournalRecord::getBookId, JournalRecord::getTitle));
+        Map<Long, String> importedTitles = bookRepository.findByAuthor("Journal Author").stream()
+                .collect(Collectors.toMap(Book::getId, Book::getTitle));
+        assertEquals(5, importedTitles.size());
+        assertEquals(importedTitles, journaledTitles);
+
+        List<JournalRecord> members = records.stream()
+                .filter(record -> record.getType() == JournalRecord.Type.MEMBER_ADDED)
+                .toList();
+        assertEquals(1, members.size());
+        assertEquals(memberRepository.findByEmail("journal.reader@library.com").orElseThrow().getId(),
+                members.get(0).getMemberId());
+        assertEquals("Journal Reader", members.get(0).getMemberName());
+    }
+
+    @Test
+    void shouldSplitQuotedCsvFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), ImportRowReader.splitCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private static InputStream body(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
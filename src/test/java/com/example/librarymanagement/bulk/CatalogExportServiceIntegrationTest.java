@@ -0,0 +1,82 @@
+package com.example.librarymanagement.bulk;
+
+import com.example.librarymanagement.Book;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.Member;
+import com.example.librarymanagement.MemberRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogExportServiceIntegrationTest {
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(new Member("Export Member", "export.member@library.com", ""));
+        bookRepository.save(new Book("Refactoring, 2nd Edition", "Martin Fowler"));
+        Book borrowed = new Book("Clean Code", "Robert Martin");
+        borrowed.borrowBook(member, 14);
+        bookRepository.save(borrowed);
+        // Loans saved straight through the repository bypass the counter
+        memberRepository.reconcileActiveLoanCounts();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void shouldExportBooksAsCsvThatCanBeImportedAgain() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, catalogExportService.exportBooks(out, DataFormat.CSV, false));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,title,author,isbn,available,borrowedByMemberId,borrowedByMemberName"));
+        assertEquals("Refactoring, 2nd Edition", ImportRowReader.splitCsvLine(lines[1]).get(1));
+        assertEquals("Export Member", ImportRowReader.splitCsvLine(lines[2]).get(6));
+    }
+
+    @Test
+    void shouldExportMembersAsGzippedNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(1, catalogExportService.exportMembers(out, DataFormat.NDJSON, true));
+
+        byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes();
+        JsonNode row = objectMapper.readTree(new String(unzipped, StandardCharsets.UTF_8).trim());
+        assertEquals("export.member@library.com", row.get("email").asText());
+        assertEquals(1, row.get("borrowedBooksCount").asInt());
+        assertTrue(row.get("active").asBoolean());
+    }
+}
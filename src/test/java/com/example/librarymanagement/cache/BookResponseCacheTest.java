@@ -0,0 +1,70 @@
+package com.example.librarymanagement.cache;
+
+import com.example.librarymanagement.Book;
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.Member;
+import com.example.librarymanagement.dto.BookResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookResponseCacheTest {
+
+    private BookResponseCache cache;
+    private Book book;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BookResponseCache(100);
+        book = new Book("Clean Code", "Robert Martin");
+        book.setId(1L);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromMemory() {
+        load(1L);
+        load(1L);
+        load(1L);
+
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.stats().getHitCount());
+        assertEquals(1, cache.stats().getMissCount());
+    }
+
+    @Test
+    void shouldEvictOnCommittedChanges() {
+        load(1L);
+        Member member = new Member("Alice", "alice@library.com", "");
+        member.setId(7L);
+        book.borrowBook(member, 14);
+        cache.onBookEvent(BookEvent.borrowed(book));
+
+        assertFalse(load(1L).orElseThrow().isAvailable());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheMissingBooks() {
+        assertTrue(cache.get(2L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }).isEmpty());
+        load(1L);
+        load(1L);
+
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<BookResponse> load(Long id) {
+        return cache.get(id, bookId -> {
+            loads.incrementAndGet();
+            return Optional.of(BookResponse.from(book));
+        });
+    }
+}
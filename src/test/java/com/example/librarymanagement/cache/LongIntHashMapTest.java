@@ -0,0 +1,47 @@
+package com.example.librarymanagement.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void shouldCountAndDropKeysAtZero() {
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        assertEquals(2, map.addTo(7L, 2));
+        assertEquals(1, map.addTo(7L, -1));
+        assertEquals(0, map.addTo(7L, -5));   // floored, and removed
+        assertEquals(0, map.size());
+        assertThrows(IllegalArgumentException.class, () -> map.get(0L));
+    }
+
+    @Test
+    void shouldAgreeWithHashMapUnderRandomUpdates() {
+        Random random = new Random(42);
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> reference = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            int delta = random.nextInt(5) - 2;
+            int expected = Math.max(0, reference.getOrDefault(key, 0) + delta);
+            if (expected == 0) {
+                reference.remove(key);
+            } else {
+                reference.put(key, expected);
+            }
+            assertEquals(expected, map.addTo(key, delta));
+        }
+
+        assertEquals(reference.size(), map.size());
+        for (long key = 1; key <= 2_000; key++) {
+            assertEquals(reference.getOrDefault(key, 0).intValue(), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.librarymanagement.cache;
+
+import com.example.librarymanagement.Member;
+import com.example.librarymanagement.MemberEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemberIdCacheTest {
+
+    private MemberIdCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MemberIdCache(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldFollowCommittedMemberEvents() {
+        Member member = new Member("Alice", "alice@library.com", "");
+        member.setId(7L);
+
+        cache.onMemberEvent(MemberEvent.added(member));
+        assertEquals(7L, cache.getIfPresent("alice@library.com"));
+
+        cache.onMemberEvent(MemberEvent.deactivated(member));
+        assertNull(cache.getIfPresent("alice@library.com"));
+    }
+
+    @Test
+    void shouldCacheALookupOnlyOnceItsTransactionCommits() {
+        // Stands in for the borrow's transaction
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAfterCommit("alice@library.com", 7L);
+        assertNull(cache.getIfPresent("alice@library.com"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(7L, cache.getIfPresent("alice@library.com"));
+    }
+
+    @Test
+    void shouldNotCacheALookupThatRolledBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAfterCommit("bob@library.com", 8L);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertNull(cache.getIfPresent("bob@library.com"));
+    }
+
+    @Test
+    void shouldPutRightAwayOutsideATransaction() {
+        cache.putAfterCommit("carol@library.com", 9L);
+        assertEquals(9L, cache.getIfPresent("carol@library.com"));
+
+        cache.invalidate("carol@library.com");
+        assertNull(cache.getIfPresent("carol@library.com"));
+    }
+
+    @Test
+    void shouldHoldAMissUntilItsTransactionCompletes() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.lockMissUntilCompletion("dave@library.com");
+
+        // Another borrow resolving the same miss waits for this transaction
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cache.lockMissUntilCompletion("dave@library.com");
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldRefuseToLockAMissOutsideATransaction() {
+        assertThrows(IllegalStateException.class, () -> cache.lockMissUntilCompletion("erin@library.com"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.librarymanagement.cache;
+
+import com.example.librarymanagement.Book;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.Member;
+import com.example.librarymanagement.MemberRepository;
+import com.example.librarymanagement.security.Role;
+import com.example.librarymanagement.security.User;
+import com.example.librarymanagement.security.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: every repository call runs in its own session, like separate requests do
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Book book;
+    private Member member;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        book = bookRepository.save(new Book("Cached Book", "Cache Author"));
+        member = memberRepository.save(new Member("Cached Member", "cached.member@library.com", ""));
+        user = new User("cacheduser", "secret", "cached.user@library.com");
+        user.addRole(Role.ROLE_MEMBER);
+        user = userRepository.save(user);
+
+        // Start every test from a cold cache and zeroed counters
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteById(book.getId());
+        memberRepository.deleteById(member.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldLoadBookFromDatabaseOnlyOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bookRepository.findById(book.getId()).isPresent());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void shouldAnswerRepeatedMemberLookupByEmailFromQueryCache() {
+        memberRepository.findByEmail("cached.member@library.com");
+        long afterFirstLookup = statistics.getPrepareStatementCount();
+        memberRepository.findByEmail("cached.member@library.com");
+
+        assertEquals(afterFirstLookup, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void shouldLoadUserWithRolesWithoutDatabaseAfterFirstLookup() {
+        userRepository.findByUsername("cacheduser");
+        long afterFirstLookup = statistics.getPrepareStatementCount();
+        User cached = userRepository.findByUsername("cacheduser").orElseThrow();
+
+        assertEquals(afterFirstLookup, statistics.getPrepareStatementCount());
+        assertTrue(cached.getRoles().contains(Role.ROLE_MEMBER));
+    }
+
+    @Test
+    void shouldSeeCommittedChangesAfterCaching() {
+        bookRepository.findById(book.getId());
+        Book changed = bookRepository.findById(book.getId()).orElseThrow();
+        changed.setTitle("Renamed Book");
+        bookRepository.save(changed);
+
+        assertEquals("Renamed Book", bookRepository.findById(book.getId()).orElseThrow().getTitle());
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.librarymanagement.circulation;
+
+import com.example.librarymanagement.Book;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.LibraryService;
+import com.example.librarymanagement.MemberRepository;
+import com.example.librarymanagement.dto.BatchLoanRequest;
+import com.example.librarymanagement.dto.BorrowBookRequest;
+import com.example.librarymanagement.dto.CirculationStatResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: the rollups only count what has committed.
+// The scheduled flush is pushed out of the way; tests flush when they need to.
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "library.circulation.flush-interval=PT1H")
+class CirculationRollupsIntegrationTest {
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private CirculationRollups circulationRollups;
+
+    @Autowired
+    private CirculationReportService reportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        circulationRollups.flush();
+        jdbcTemplate.update("DELETE FROM circulation_rollups");
+        jdbcTemplate.update("DELETE FROM loans");
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void shouldKeepEveryLoanAfterTheReturn() {
+        Book first = bookRepository.save(new Book("History One", "Rollup Author"));
+        Book second = bookRepository.save(new Book("History Two", "Rollup Author"));
+
+        libraryService.borrowBook(first.getId(), new BorrowBookRequest("History Reader"));
+        libraryService.borrowBooks(new BatchLoanRequest("History Reader", List.of(second.getId())));
+        libraryService.returnBook(first.getId(), new BorrowBookRequest("History Reader"));
+        libraryService.borrowBook(first.getId(), new BorrowBookRequest("History Reader"));
+        libraryService.returnBooks(new BatchLoanRequest("History Reader", List.of(first.getId(), second.getId())));
+
+        assertEquals(2, count("SELECT COUNT(*) FROM loans WHERE book_id = ?", first.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM loans WHERE book_id = ?", second.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM loans WHERE returned_at IS NULL AND book_id IN (?, ?)",
+                first.getId(), second.getId()));
+    }
+
+    @Test
+    void shouldRankFromTheRollupsOnceFlushed() {
+        Book popular = bookRepository.save(new Book("Popular", "Often Borrowed"));
+        Book quiet = bookRepository.save(new Book("Quiet", "Rarely Borrowed"));
+
+        libraryService.borrowBook(popular.getId(), new BorrowBookRequest("Rollup Alice"));
+        libraryService.returnBook(popular.getId(), new BorrowBookRequest("Rollup Alice"));
+        libraryService.borrowBook(popular.getId(), new BorrowBookRequest("Rollup Bob"));
+        libraryService.borrowBook(quiet.getId(), new BorrowBookRequest("Rollup Bob"));
+
+        LocalDate today = LocalDate.now();
+        // Nothing is written before the flush
+        assertNull(find(reportService.top(CirculationRollups.Dimension.BOOK, today, today,
+                CirculationReportService.OrderBy.LOANS, 100), "Popular"));
+
+        circulationRollups.flush();
+        List<CirculationStatResponse> books = reportService.top(CirculationRollups.Dimension.BOOK, today, today,
+                CirculationReportService.OrderBy.LOANS, 100);
+        CirculationStatResponse popularStats = find(books, "Popular");
+        CirculationStatResponse quietStats = find(books, "Quiet");
+        assertEquals(2, popularStats.getLoans());
+        assertEquals(1, popularStats.getReturns());
+        assertEquals(1, quietStats.getLoans());
+        assertNull(quietStats.getAverageLoanDays());
+        assertTrue(books.indexOf(popularStats) < books.indexOf(quietStats));
+
+        // Only authors with a return have an average loan duration
+        List<CirculationStatResponse> authors = reportService.top(CirculationRollups.Dimension.AUTHOR,
+                today.minusDays(30), today, CirculationReportService.OrderBy.AVERAGE_DURATION, 100);
+        assertNotNull(find(authors, "Often Borrowed"));
+        assertNull(find(authors, "Rarely Borrowed"));
+
+        List<CirculationStatResponse> members = reportService.top(CirculationRollups.Dimension.MEMBER, today, today,
+                CirculationReportService.OrderBy.LOANS, 100);
+        assertEquals(2, find(members, "Rollup Bob").getLoans());
+        assertEquals(1, find(members, "Rollup Alice").getLoans());
+    }
+
+    @Test
+    void shouldAddWeeksAndEdgeDaysWithoutCountingAnyDayTwice() {
+        // One two-day loan a day through the first quarter of 2025
+        LocalDate day = LocalDate.of(2025, 1, 1);
+        while (day.isBefore(LocalDate.of(2025, 4, 1))) {
+            LocalDateTime borrowedAt = day.atTime(10, 0);
+            jdbcTemplate.update("INSERT INTO loans (book_id, member_id, author, borrowed_at, due_date, returned_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)", 9001L, 42L, "Range Author", borrowedAt, borrowedAt.plusDays(14),
+                    borrowedAt.plusDays(2));
+            day = day.plusDays(1);
+        }
+        circulationRollups.rebuildFrom(CirculationRollups.weekStart(LocalDate.of(2025, 1, 1)));
+
+        // Wednesday to Thursday six weeks later: partial weeks at both ends
+        CirculationStatResponse span = reportService.top(CirculationRollups.Dimension.AUTHOR,
+                LocalDate.of(2025, 1, 8), LocalDate.of(2025, 2, 20), CirculationReportService.OrderBy.LOANS, 10).get(0);
+        assertEquals(44, span.getLoans());
+        assertEquals(44, span.getReturns());
+        assertEquals(2.0, span.getAverageLoanDays(), 1e-9);
+
+        // Shorter than a week
+        CirculationStatResponse days = reportService.top(CirculationRollups.Dimension.BOOK,
+                LocalDate.of(2025, 3, 4), LocalDate.of(2025, 3, 6), CirculationReportService.OrderBy.LOANS, 10).get(0);
+        assertEquals(3, days.getLoans());
+
+        // The whole quarter
+        CirculationStatResponse quarter = reportService.top(CirculationRollups.Dimension.MEMBER,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), CirculationReportService.OrderBy.LOANS, 10).get(0);
+        assertEquals(90, quarter.getLoans());
+    }
+
+    @Test
+    void shouldRecomputeLostCountsFromTheLoansOnStartup() {
+        Book book = bookRepository.save(new Book("Survivor", "Restart Author"));
+        libraryService.borrowBook(book.getId(), new BorrowBookRequest("Restart Reader"));
+        libraryService.returnBook(book.getId(), new BorrowBookRequest("Restart Reader"));
+        libraryService.borrowBook(book.getId(), new BorrowBookRequest("Restart Reader"));
+        circulationRollups.flush();
+
+        // As if the last flushes never reached the database
+        jdbcTemplate.update("DELETE FROM circulation_rollups");
+        circulationRollups.repair();
+
+        LocalDate today = LocalDate.now();
+        CirculationStatResponse stats = find(reportService.top(CirculationRollups.Dimension.BOOK, today, today,
+                CirculationReportService.OrderBy.LOANS, 100), "Survivor");
+        assertEquals(2, stats.getLoans());
+        assertEquals(1, stats.getReturns());
+    }
+
+    // Other test contexts share the database, so rows are picked out by label
+    private static CirculationStatResponse find(List<CirculationStatResponse> stats, String label) {
+        return stats.stream().filter(stat -> label.equals(stat.getLabel())).findFirst().orElse(null);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.librarymanagement.fines;
+
+import com.example.librarymanagement.Book;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.Member;
+import com.example.librarymanagement.MemberRepository;
+import com.example.librarymanagement.MemberService;
+import com.example.librarymanagement.dto.FeeAccrualReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: every chunk commits on its own fork-join worker.
+// late-fee-per-day is 1.0 in the test profile.
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"library.fines.chunk-size=2", "library.fines.parallelism=2"})
+class FeeAccrualServiceIntegrationTest {
+
+    @Autowired
+    private FeeAccrualService feeAccrualService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private FineRepository fineRepository;
+
+    @Autowired
+    private MemberBalanceRepository memberBalanceRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private Member alice;
+    private Member bob;
+    private Member carol;
+
+    @BeforeEach
+    void setUp() {
+        alice = memberRepository.save(new Member("Fines Alice", "fines.alice@library.com", ""));
+        bob = memberRepository.save(new Member("Fines Bob", "fines.bob@library.com", ""));
+        carol = memberRepository.save(new Member("Fines Carol", "fines.carol@library.com", ""));
+        for (int i = 1; i <= 3; i++) {
+            borrow("Overdue " + i, alice, -3);
+        }
+        borrow("Overdue 4", bob, -3);
+        borrow("Not yet due", bob, 14);
+        bookRepository.save(new Book("On the shelf", "Fines Author"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fineRepository.deleteAll();
+        memberBalanceRepository.deleteAll();
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void shouldChargeEveryOverdueLoanOnceADay() {
+        LocalDate today = LocalDate.now();
+        FeeAccrualReport first = feeAccrualService.accrue(today);
+
+        assertEquals(4, first.getLoansCharged());
+        assertEquals(0, new BigDecimal("4.00").compareTo(first.getAmountCharged()));
+        assertTrue(first.getChunks() > 1);
+        assertEquals(4, fineRepository.countByAccrualDate(today));
+        assertTrue(fineRepository.findByMemberIdOrderByAccrualDateDesc(alice.getId()).stream()
+                .allMatch(fine -> fine.getDaysOverdue() == 3));
+        assertBalance(alice, "3.00");
+        assertBalance(bob, "1.00");
+
+        // Re-running the same night is a no-op
+        assertEquals(0, feeAccrualService.accrue(today).getLoansCharged());
+        assertBalance(alice, "3.00");
+
+        // The next night adds another day
+        assertEquals(4, feeAccrualService.accrue(today.plusDays(1)).getLoansCharged());
+        assertBalance(alice, "6.00");
+        assertBalance(bob, "2.00");
+    }
+
+    @Test
+    void shouldReportAZeroBalanceForMembersNeverFined() {
+        assertBalance(carol, "0");
+    }
+
+    private void borrow(String title, Member member, int loanDays) {
+        Book book = new Book(title, "Fines Author");
+        book.borrowBook(member, loanDays);
+        bookRepository.save(book);
+    }
+
+    private void assertBalance(Member member, String expected) {
+        BigDecimal balance = memberService.getMemberBalance(member.getId()).getBalance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), "balance of " + member.getName() + " was " + balance);
+    }
+}
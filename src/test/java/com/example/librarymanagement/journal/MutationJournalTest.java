@@ -0,0 +1,164 @@
+package com.example.librarymanagement.journal;
+
+import com.example.librarymanagement.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private MutationJournal journal;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void shouldReadBackWhatWasAppended() {
+        journal = open(1 << 20);
+        LocalDateTime due = LocalDateTime.of(2030, 1, 15, 10, 30);
+        long first = journal.append(new JournalRecord(JournalRecord.Type.BOOK_ADDED, 1L, 7L, null, null,
+                "Clean Code", "Robert Martin", null, null));
+        long second = journal.append(new JournalRecord(JournalRecord.Type.BOOK_BORROWED, 2L, 7L, 3L, due,
+                null, null, "Zoë", null));
+
+        List<JournalRecord> records = journal.read(0, 10);
+        assertEquals(2, records.size());
+        assertEquals(first, records.get(0).getOffset());
+        assertEquals(second, records.get(0).getNextOffset());
+        assertEquals("Clean Code", records.get(0).getTitle());
+        assertEquals("Robert Martin", records.get(0).getAuthor());
+        assertNull(records.get(0).getMemberId());
+        assertEquals(JournalRecord.Type.BOOK_BORROWED, records.get(1).getType());
+        assertEquals(3L, records.get(1).getMemberId());
+        assertEquals(due, records.get(1).getDueDate());
+        assertEquals("Zoë", records.get(1).getMemberName());
+        assertEquals(journal.durableOffset(), records.get(1).getNextOffset());
+
+        // Reading on from an earlier position
+        assertEquals(List.of(second), journal.read(second, 10).stream().map(JournalRecord::getOffset).toList());
+        assertTrue(journal.read(journal.durableOffset(), 10).isEmpty());
+    }
+
+    @Test
+    void shouldRollSegmentsAndReplayAcrossThem() throws IOException {
+        journal = open(256);
+        for (long id = 1; id <= 50; id++) {
+            journal.append(book(id));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        long end = journal.replay(0, record -> ids.add(record.getBookId()));
+        assertEquals(50, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1, ids.get(i));
+        }
+        assertEquals(journal.durableOffset(), end);
+    }
+
+    @Test
+    void shouldAppendABatchAcrossASegmentRoll() {
+        journal = open(256);
+        journal.append(book(1));
+        List<JournalRecord> batch = new ArrayList<>();
+        for (long id = 2; id <= 20; id++) {
+            batch.add(book(id));
+        }
+
+        long first = journal.appendAll(batch);
+        List<JournalRecord> records = journal.read(first, 100);
+        assertEquals(19, records.size());
+        assertEquals(2L, records.get(0).getBookId());
+        assertEquals(20L, records.get(18).getBookId());
+        assertEquals(journal.durableOffset(), records.get(18).getNextOffset());
+    }
+
+    @Test
+    void shouldSurviveARestartAndDropATornRecord() throws Exception {
+        journal = open(256);
+        for (long id = 1; id <= 20; id++) {
+            journal.append(book(id));
+        }
+        long end = journal.durableOffset();
+        journal.close();
+
+        // A crash in the middle of a write: a length and half a payload, no valid checksum
+        Path last;
+        try (Stream<Path> files = Files.list(directory)) {
+            last = files.sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        long base = Long.parseLong(last.getFileName().toString().replace(".journal", ""));
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(40).putInt(12345).putInt(-1).flip(), end - base);
+        }
+
+        journal = open(256);
+        assertEquals(end, journal.durableOffset());
+        assertEquals(20, journal.read(0, 100).size());
+
+        long offset = journal.append(book(21));
+        assertEquals(end, offset);
+        List<JournalRecord> tail = journal.read(offset, 10);
+        assertEquals(1, tail.size());
+        assertEquals(21L, tail.get(0).getBookId());
+    }
+
+    @Test
+    void shouldWaitForNewRecordsWhenTailing() throws Exception {
+        journal = open(1 << 20);
+        long from = journal.durableOffset();
+        CompletableFuture<List<JournalRecord>> tail = CompletableFuture.supplyAsync(() -> {
+            try {
+                return journal.tail(from, 10, Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(tail.isDone());
+
+        journal.append(book(1));
+        assertEquals(1, tail.get().size());
+        assertTrue(journal.tail(journal.durableOffset(), 10, Duration.ofMillis(50)).isEmpty());
+    }
+
+    @Test
+    void shouldRejectAnOffsetInsideARecord() {
+        journal = open(1 << 20);
+        journal.append(book(1));
+        assertThrows(InvalidPageRequestException.class, () -> journal.read(3, 10));
+        assertThrows(InvalidPageRequestException.class, () -> journal.read(-1, 10));
+    }
+
+    private MutationJournal open(int segmentSize) {
+        return new MutationJournal(true, directory, segmentSize, Duration.ofMillis(1));
+    }
+
+    private static JournalRecord book(long id) {
+        return new JournalRecord(JournalRecord.Type.BOOK_ADDED, id, id, null, null, "Book " + id, "Author", null, null);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.librarymanagement.notification;
+
+import com.example.librarymanagement.Book;
+import com.example.librarymanagement.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"library.notifications.linger=PT0.5S", "library.notifications.sweep-min-age=PT0S"})
+class NotificationPipelineIntegrationTest {
+
+    @TestConfiguration
+    static class RecordingChannelConfig {
+        @Bean
+        @Primary
+        RecordingChannel recordingChannel() {
+            return new RecordingChannel();
+        }
+    }
+
+    // Local stand-in for an email gateway: remembers every digest it was given
+    static class RecordingChannel implements NotificationChannel {
+        final Map<String, List<List<String>>> digests = new ConcurrentHashMap<>();
+
+        @Override
+        public void deliver(String memberName, List<String> messages) {
+            digests.computeIfAbsent(memberName, name -> new CopyOnWriteArrayList<>()).add(List.copyOf(messages));
+        }
+    }
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private RecordingChannel channel;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        channel.digests.clear();
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void shouldDeliverOneDigestPerMemberAfterCommit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            notificationService.sendBookBorrowedNotification("Alice", new Book("Clean Code", "Robert Martin"));
+            notificationService.sendBookBorrowedNotification("Alice", new Book("Refactoring", "Martin Fowler"));
+            notificationService.sendBookReturnedNotification("Bob", new Book("Effective Java", "Joshua Bloch"));
+            // Nothing leaves before the transaction commits
+            assertTrue(channel.digests.isEmpty());
+        });
+
+        waitFor(() -> channel.digests.containsKey("Alice") && channel.digests.containsKey("Bob"));
+        assertEquals(List.of(List.of("borrowed 'Clean Code'", "borrowed 'Refactoring'")), channel.digests.get("Alice"));
+        assertEquals(List.of(List.of("returned 'Effective Java'")), channel.digests.get("Bob"));
+        waitFor(() -> outboxRepository.count() == 0);
+        assertTrue(notificationDispatcher.stats().getDelivered() >= 3);
+    }
+
+    @Test
+    void shouldSendNothingWhenTheTransactionRollsBack() throws InterruptedException {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            notificationService.sendBookBorrowedNotification("Carol", new Book("Clean Code", "Robert Martin"));
+            status.setRollbackOnly();
+        });
+
+        Thread.sleep(1_000);
+        assertFalse(channel.digests.containsKey("Carol"));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void shouldDeliverWhatAPreviousRunLeftInTheOutbox() {
+        // As if the application had stopped between commit and delivery
+        outboxRepository.save(new OutboxMessage("Dave", "returned 'Domain-Driven Design'"));
+
+        notificationDispatcher.sweep();
+
+        waitFor(() -> channel.digests.containsKey("Dave"));
+        assertEquals(List.of(List.of("returned 'Domain-Driven Design'")), channel.digests.get("Dave"));
+        waitFor(() -> outboxRepository.count() == 0);
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for delivery");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+}
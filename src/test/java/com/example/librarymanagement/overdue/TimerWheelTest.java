@@ -0,0 +1,88 @@
+package com.example.librarymanagement.overdue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void shouldFireTimersExactlyAtTheirDeadline() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000);
+        assertTrue(wheel.schedule(1, 1001, "next tick"));
+        assertTrue(wheel.schedule(2, 1000 + 20_160, "two weeks of minutes"));
+        assertTrue(wheel.schedule(3, 1000 + 5_000_000, "years away"));
+
+        assertEquals(List.of("next tick"), wheel.advanceTo(1001));
+        assertTrue(wheel.advanceTo(1000 + 20_159).isEmpty());
+        assertEquals(List.of("two weeks of minutes"), wheel.advanceTo(1000 + 20_160));
+        assertEquals(List.of("years away"), wheel.advanceTo(1000 + 5_000_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldRescheduleAndCancelByKey() {
+        TimerWheel<String> wheel = new TimerWheel<>(0);
+        wheel.schedule(1, 100, "reminder");
+        wheel.schedule(1, 200, "overdue");
+        wheel.schedule(2, 150, "returned early");
+
+        assertEquals("returned early", wheel.cancel(2));
+        assertNull(wheel.cancel(2));
+        assertTrue(wheel.advanceTo(199).isEmpty());
+        assertEquals(List.of("overdue"), wheel.advanceTo(200));
+    }
+
+    @Test
+    void shouldRefuseDeadlinesThatHavePassed() {
+        TimerWheel<String> wheel = new TimerWheel<>(50);
+
+        assertFalse(wheel.schedule(1, 50, "now"));
+        assertFalse(wheel.schedule(2, 10, "past"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldMatchANaiveScheduleAcrossLevelBoundaries() {
+        Random random = new Random(42);
+        // Start just before a top-level turn, so the overflow list and every cascade are exercised
+        long now = (1L << 24) - 3_000;
+        TimerWheel<Long> wheel = new TimerWheel<>(now);
+        Map<Long, Long> deadlines = new HashMap<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            int op = random.nextInt(10);
+            long key = random.nextInt(2_000);
+            if (op < 5) {
+                long deadline = now + 1 + (random.nextInt(4) == 0 ? random.nextInt(1 << 22) : random.nextInt(5_000));
+                assertTrue(wheel.schedule(key, deadline, key));
+                deadlines.put(key, deadline);
+            } else if (op < 7) {
+                Long expected = deadlines.remove(key) != null ? key : null;
+                assertEquals(expected, wheel.cancel(key));
+            } else {
+                now += random.nextInt(50) == 0 ? random.nextInt(300_000) : random.nextInt(100);
+                List<Long> expected = new ArrayList<>();
+                for (Iterator<Map.Entry<Long, Long>> it = deadlines.entrySet().iterator(); it.hasNext(); ) {
+                    Map.Entry<Long, Long> entry = it.next();
+                    if (entry.getValue() <= now) {
+                        expected.add(entry.getKey());
+                        it.remove();
+                    }
+                }
+                List<Long> fired = wheel.advanceTo(now);
+                assertEquals(new HashSet<>(expected), new HashSet<>(fired));
+                assertEquals(expected.size(), fired.size());
+            }
+            assertEquals(deadlines.size(), wheel.size());
+        }
+    }
+}
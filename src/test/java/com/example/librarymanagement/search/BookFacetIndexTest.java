@@ -0,0 +1,136 @@
+package com.example.librarymanagement.search;
+
+import com.example.librarymanagement.Book;
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.Member;
+import com.example.librarymanagement.MemberEvent;
+import com.example.librarymanagement.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BookFacetIndexTest {
+
+    private BookFacetIndex index;
+    private Member alice;
+    private Member bob;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookFacetIndex(mock(BookRepository.class), mock(MemberRepository.class));
+        alice = member(1L, "Alice");
+        bob = member(2L, "Bob");
+
+        add(1L, "Spring in Action", "Craig Walls", LocalDateTime.now().minusDays(30));
+        add(2L, "Spring Boot Guide", "Craig Walls", LocalDateTime.now());
+        add(3L, "Clean Code", "Robert Martin", LocalDateTime.now());
+        add(4L, "Clean Architecture", "Robert Martin", LocalDateTime.now());
+
+        borrow(1L, alice, 14);
+        borrow(3L, bob, -2);   // due two days ago
+    }
+
+    @Test
+    void shouldCombineFiltersAndCountFacets() {
+        BookFacetIndex.FacetResult result = index.filter(
+                new BookFacetIndex.Criteria(List.of("craig walls"), true, null, null, null, null), 0, 10);
+
+        assertEquals(List.of(2L), result.getBookIds());
+        // Author counts ignore the author filter, availability counts ignore the availability filter
+        assertEquals(Map.of("Craig Walls", 1, "Robert Martin", 1), result.getAuthorCounts());
+        assertEquals(1, result.getAvailableCount());
+        assertEquals(1, result.getBorrowedCount());
+    }
+
+    @Test
+    void shouldFilterOverdueAndAddedDate() {
+        assertEquals(List.of(3L), index.filter(criteria(true, null), 0, 10).getBookIds());
+        assertEquals(List.of(1L, 2L, 4L), index.filter(criteria(false, null), 0, 10).getBookIds());
+
+        BookFacetIndex.Criteria recent = new BookFacetIndex.Criteria(
+                null, null, null, null, LocalDate.now().minusDays(1), null);
+        assertEquals(List.of(2L, 3L, 4L), index.filter(recent, 0, 10).getBookIds());
+    }
+
+    @Test
+    void shouldFollowReturnsAndDeactivatedMembers() {
+        assertEquals(List.of(1L, 3L), index.filter(criteria(null, true), 0, 10).getBookIds());
+
+        index.onMemberEvent(MemberEvent.deactivated(bob));
+        assertEquals(List.of(1L), index.filter(criteria(null, true), 0, 10).getBookIds());
+
+        index.onBookEvent(BookEvent.returned(book(1L)));
+        assertTrue(index.filter(criteria(null, true), 0, 10).getBookIds().isEmpty());
+        assertEquals(3, index.filter(criteria(null, null), 0, 10).getAvailableCount());
+    }
+
+    @Test
+    void shouldPageThroughMatches() {
+        BookFacetIndex.FacetResult page = index.filter(criteria(null, null), 2, 2);
+
+        assertEquals(List.of(3L, 4L), page.getBookIds());
+        assertEquals(4, page.getTotalHits());
+        assertTrue(index.filter(criteria(null, null), 4, 2).getBookIds().isEmpty());
+    }
+
+    @Test
+    void shouldReturnAnEmptyPageForOffsetsOutsideTheMatches() {
+        // A negative offset (an overflowed page * size) must not reach RoaringBitmap.select
+        BookFacetIndex.FacetResult page = index.filter(criteria(null, null), -2, 2);
+        assertTrue(page.getBookIds().isEmpty());
+        assertEquals(4, page.getTotalHits());
+        assertTrue(index.filter(criteria(null, null), Integer.MAX_VALUE, 2).getBookIds().isEmpty());
+    }
+
+    @Test
+    void shouldTrackAvailability() {
+        assertEquals(2, index.availableCount());
+        assertEquals(List.of(2L, 4L), index.availableBooks(0, 10));
+
+        index.onBookEvent(BookEvent.returned(book(3L)));
+        index.onBookEvent(BookEvent.deleted(book(4L)));
+
+        assertEquals(2, index.availableCount());
+        assertEquals(List.of(3L), index.availableBooks(1, 1));
+        assertTrue(index.availableBooks(-10, 10).isEmpty());
+        assertTrue(index.availableBooks(Integer.MAX_VALUE, 10).isEmpty());
+    }
+
+    private static BookFacetIndex.Criteria criteria(Boolean overdue, Boolean borrowedByActiveMember) {
+        return new BookFacetIndex.Criteria(null, null, overdue, borrowedByActiveMember, null, null);
+    }
+
+    private void add(Long id, String title, String author, LocalDateTime createdAt) {
+        Book book = new Book(title, author);
+        book.setId(id);
+        book.setCreatedAt(createdAt);
+        index.onBookEvent(BookEvent.added(book));
+    }
+
+    private void borrow(Long id, Member member, int loanDays) {
+        Book book = book(id);
+        book.borrowBook(member, loanDays);
+        index.onBookEvent(BookEvent.borrowed(book));
+    }
+
+    // Only the id matters for the index once a book is known
+    private static Book book(Long id) {
+        Book book = new Book("", "");
+        book.setId(id);
+        return book;
+    }
+
+    private static Member member(Long id, String name) {
+        Member member = new Member(name, name.toLowerCase() + "@library.com", "");
+        member.setId(id);
+        return member;
+    }
+}
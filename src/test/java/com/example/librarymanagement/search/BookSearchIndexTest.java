@@ -0,0 +1,74 @@
+package com.example.librarymanagement.search;
+
+import com.example.librarymanagement.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(mock(BookRepository.class));
+        index.add(1L, "Spring in Action", "Craig Walls", null);
+        index.add(2L, "Java: The Complete Reference", "Herbert Schildt", "978-0132350884");
+        index.add(3L, "Clean Code", "Robert Martin", null);
+        index.add(4L, "Spring Boot Guide", "Craig Walls", null);
+    }
+
+    @Test
+    void shouldFindBooksByTitleAuthorAndIsbn() {
+        assertEquals(List.of(3L), index.search("clean code", 0, 10).getBookIds());
+        assertEquals(List.of(2L), index.search("Schildt", 0, 10).getBookIds());
+        assertEquals(List.of(2L), index.search("9780132350884", 0, 10).getBookIds());
+    }
+
+    @Test
+    void shouldMatchPrefixesAndRankExactTermsFirst() {
+        BookSearchIndex.SearchResult result = index.search("spr", 0, 10);
+
+        assertEquals(2, result.getTotalHits());
+        assertTrue(result.getBookIds().containsAll(List.of(1L, 4L)));
+    }
+
+    @Test
+    void shouldPageThroughRankedResults() {
+        List<Long> all = index.search("craig spring", 0, 10).getBookIds();
+
+        assertEquals(2, all.size());
+        assertEquals(List.of(all.get(1)), index.search("craig spring", 1, 1).getBookIds());
+        assertTrue(index.search("craig spring", 5, 1).getBookIds().isEmpty());
+    }
+
+    @Test
+    void shouldReturnNothingForOffsetsPastTheEndOrOverflowing() {
+        // offset + limit overflows int: no heap of that size, no negative k
+        BookSearchIndex.SearchResult deep = index.search("spring", false, Integer.MAX_VALUE, 10);
+        assertTrue(deep.getBookIds().isEmpty());
+        assertEquals(2, deep.getTotalHits());
+
+        assertTrue(index.search("spring", false, -1, 10).getBookIds().isEmpty());
+        assertTrue(index.search("no such words", false, 0, 10).getBookIds().isEmpty());
+    }
+
+    @Test
+    void shouldTolerateTyposOnlyWhenFuzzy() {
+        assertEquals(0, index.search("Shildt", 0, 10).getTotalHits());
+        assertEquals(List.of(2L), index.search("Shildt", true, 0, 10).getBookIds());
+        assertEquals(List.of(3L), index.search("Clena Code", true, 0, 10).getBookIds());
+    }
+
+    @Test
+    void shouldForgetRemovedBooks() {
+        index.remove(3L);
+
+        assertEquals(0, index.search("clean", 0, 10).getTotalHits());
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.librarymanagement.search;
+
+import com.example.librarymanagement.Book;
+import com.example.librarymanagement.BookEvent;
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.dto.SuggestionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie();
+    }
+
+    @Test
+    void shouldSplitAnEdgeWhenPhrasesShareOnlyPartOfIt() {
+        trie.adjust("Javascript Patterns", 1);
+        // Splits the "javascript patterns" edge after "java"
+        trie.adjust("Java Basics", 1);
+        // And the "java basics" edge after "java b"
+        trie.adjust("Java Beans", 1);
+
+        assertEquals(List.of("Java Basics", "Java Beans", "Javascript Patterns"), texts(trie.complete("jav", 10)));
+        assertEquals(List.of("Java Basics", "Java Beans"), texts(trie.complete("java b", 10)));
+        assertEquals(List.of("Java Beans"), texts(trie.complete("Java Be", 10)));
+        assertEquals(List.of("Javascript Patterns"), texts(trie.complete("javas", 10)));
+        assertTrue(trie.complete("javax", 10).isEmpty());
+    }
+
+    @Test
+    void shouldMergeTheEdgesLeftBehindByARemove() {
+        trie.adjust("Javascript Patterns", 1);
+        trie.adjust("Java Basics", 1);
+        trie.adjust("Java Beans", 1);
+
+        trie.adjust("Java Beans", -1);
+        trie.adjust("Javascript Patterns", -1);
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of("Java Basics"), texts(trie.complete("j", 10)));
+        assertEquals(List.of("Java Basics"), texts(trie.complete("java basics", 10)));
+        assertTrue(trie.complete("javas", 10).isEmpty());
+        assertTrue(trie.complete("java be", 10).isEmpty());
+
+        // The merged edge splits again cleanly
+        trie.adjust("Java Beans", 1);
+        assertEquals(List.of("Java Basics", "Java Beans"), texts(trie.complete("java b", 10)));
+    }
+
+    @Test
+    void shouldRankByWeightThenText() {
+        trie.adjust("Spring Batch", 2);
+        trie.adjust("Spring Boot", 5);
+        trie.adjust("Spring Cloud", 2);
+        trie.adjust("Spring AI", 1);
+
+        assertEquals(List.of("Spring Boot", "Spring Batch", "Spring Cloud"), texts(trie.complete("spring", 3)));
+        assertEquals(5, trie.complete("spring", 1).get(0).weight);
+    }
+
+    @Test
+    void shouldReorderWhenWeightsChangeOrEntriesLeave() {
+        trie.adjust("Spring Batch", 2);
+        trie.adjust("Spring Boot", 5);
+        trie.adjust("Spring Cloud", 3);
+
+        trie.adjust("Spring Batch", 4);
+        assertEquals(List.of("Spring Batch"), texts(trie.complete("spring", 1)));
+
+        trie.adjust("Spring Batch", -6);
+        trie.adjust("Spring Boot", -4);
+        assertEquals(List.of("Spring Cloud", "Spring Boot"), texts(trie.complete("spring", 10)));
+        assertEquals(1, trie.complete("spring b", 10).get(0).weight);
+    }
+
+    @Test
+    void shouldCompleteFromLaterWordsUpToTheCap() {
+        trie.adjust("Clean Code", 1);
+        trie.adjust("Alpha Bravo Charlie Delta Echo Foxtrot Golf Hotel", 1);
+
+        assertEquals(List.of("Clean Code"), texts(trie.complete("code", 10)));
+        // "c" reaches "Clean Code" from both of its words but lists it once
+        assertEquals(List.of("Alpha Bravo Charlie Delta Echo Foxtrot Golf Hotel", "Clean Code"),
+                texts(trie.complete("c", 10)));
+
+        // The phrase itself and the starts of the next five words
+        assertEquals(1, trie.complete("foxtrot", 10).size());
+        assertTrue(trie.complete("golf", 10).isEmpty());
+        assertTrue(trie.complete("hotel", 10).isEmpty());
+
+        // Removing a phrase removes it from every word start
+        trie.adjust("Alpha Bravo Charlie Delta Echo Foxtrot Golf Hotel", -1);
+        assertTrue(trie.complete("foxtrot", 10).isEmpty());
+        assertTrue(trie.complete("alpha", 10).isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreCaseAndAccentsAndUnknownRemoves() {
+        trie.adjust("Les Misérables", 1);
+        trie.adjust("Unknown", -1);
+
+        assertEquals(List.of("Les Misérables"), texts(trie.complete("MISERA", 10)));
+        assertEquals(1, trie.size());
+        assertTrue(trie.complete("", 0).isEmpty());
+    }
+
+    @Test
+    void shouldMergeTitleAndAuthorSuggestionsByWeight() {
+        BookSuggester suggester = new BookSuggester(mock(BookRepository.class));
+        suggester.onBookEvent(BookEvent.added(new Book("Robert's Rules", "Henry Robert")));
+        suggester.onBookEvent(BookEvent.added(new Book("Clean Code", "Robert Martin")));
+        suggester.onBookEvent(BookEvent.added(new Book("Clean Architecture", "Robert Martin")));
+
+        List<SuggestionResponse> suggestions = suggester.suggest("robert", 3);
+        assertEquals("Robert Martin", suggestions.get(0).getText());
+        assertEquals("author", suggestions.get(0).getType());
+        assertEquals(2, suggestions.get(0).getWeight());
+        assertEquals(3, suggestions.size());
+
+        suggester.onBookEvent(BookEvent.deleted(new Book("Clean Code", "Robert Martin")));
+        assertEquals(1, suggester.suggest("robert m", 3).get(0).getWeight());
+    }
+
+    private static List<String> texts(List<SuggestionTrie.Entry> entries) {
+        return entries.stream().map(entry -> entry.text).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.librarymanagement.stats;
+
+import com.example.librarymanagement.BookRepository;
+import com.example.librarymanagement.dto.AuthorCountResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthorStatisticsTest {
+
+    private BookRepository bookRepository;
+    private AuthorStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        statistics = new AuthorStatistics(bookRepository);
+        statistics.adjust("Craig Walls", 2);
+        statistics.adjust("Robert Martin", 3);
+        statistics.adjust("Herbert Schildt", 1);
+    }
+
+    @Test
+    void shouldRankAuthorsByBookCount() {
+        assertEquals(List.of("Robert Martin", "Craig Walls"), authors(statistics.topAuthors(2)));
+
+        statistics.adjust("Craig Walls", 2);
+        statistics.adjust("Robert Martin", -3);
+
+        assertEquals(List.of("Craig Walls", "Herbert Schildt"), authors(statistics.topAuthors(10)));
+        assertEquals(4, statistics.topAuthors(1).get(0).getBookCount());
+    }
+
+    @Test
+    void shouldReplaceCountsOnRebuild() {
+        when(bookRepository.findAuthorBookCounts()).thenReturn(List.<Object[]>of(
+                new Object[]{"Joshua Bloch", 5L},
+                new Object[]{"Craig Walls", 2L}));
+
+        statistics.rebuild();
+
+        assertEquals(List.of("Joshua Bloch", "Craig Walls"), authors(statistics.topAuthors(10)));
+    }
+
+    @Test
+    void shouldKeepChangesMadeWhileTheRebuildQueries() {
+        when(bookRepository.findAuthorBookCounts()).thenAnswer(invocation -> {
+            // Committed after the snapshot was taken, before the rebuild swaps it in
+            statistics.adjust("Joshua Bloch", 1);
+            statistics.adjust("Craig Walls", -2);
+            return List.<Object[]>of(
+                    new Object[]{"Joshua Bloch", 5L},
+                    new Object[]{"Craig Walls", 2L});
+        });
+
+        statistics.rebuild();
+
+        List<AuthorCountResponse> top = statistics.topAuthors(10);
+        assertEquals(List.of("Joshua Bloch"), authors(top));
+        assertEquals(6, top.get(0).getBookCount());
+
+        // Later changes are applied directly again
+        statistics.adjust("Craig Walls", 1);
+        assertEquals(List.of("Joshua Bloch", "Craig Walls"), authors(statistics.topAuthors(10)));
+    }
+
+    private static List<String> authors(List<AuthorCountResponse> counts) {
+        return counts.stream().map(AuthorCountResponse::getAuthor).toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.librarymanagement.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingCountersTest {
+
+    private static final long MINUTE = 60_000;
+
+    // A one-hour window of twelve five-minute buckets
+    private final TrendingCounters counters = new TrendingCounters(5 * MINUTE, 12, 4, 256, 100);
+
+    @Test
+    void shouldRankBooksByBorrowsInTheWindow() {
+        long now = 1_000 * MINUTE;
+        for (int i = 0; i < 3; i++) {
+            counters.recordBorrow(1L, now);
+        }
+        counters.recordBorrow(2L, now - 20 * MINUTE);
+        counters.recordBorrow(2L, now);
+        counters.recordBorrow(3L, now - 30 * MINUTE);
+
+        List<Map.Entry<Long, Long>> top = counters.topBooks(2, now);
+        assertEquals(2, top.size());
+        assertEquals(1L, top.get(0).getKey());
+        assertEquals(3L, top.get(0).getValue());
+        assertEquals(2L, top.get(1).getKey());
+        assertEquals(2L, top.get(1).getValue());
+    }
+
+    @Test
+    void shouldForgetBorrowsOlderThanTheWindow() {
+        long start = 1_000 * MINUTE;
+        counters.recordBorrow(1L, start);
+        counters.recordBorrow(2L, start + 30 * MINUTE);
+
+        assertEquals(2, counters.topBooks(10, start + 55 * MINUTE).size());
+        List<Map.Entry<Long, Long>> later = counters.topBooks(10, start + 60 * MINUTE);
+        assertEquals(1, later.size());
+        assertEquals(2L, later.get(0).getKey());
+
+        // The slot of the first bucket is reused, so nothing of it survives
+        counters.recordBorrow(3L, start + 60 * MINUTE);
+        assertTrue(counters.topBooks(10, start + 60 * MINUTE).stream().noneMatch(e -> e.getKey() == 1L));
+        assertTrue(counters.topBooks(10, start + 200 * MINUTE).isEmpty());
+    }
+
+    @Test
+    void shouldFindTheHeavyHittersInASkewedStreamOfSearches() {
+        long now = 1_000 * MINUTE;
+        Random random = new Random(42);
+        // Ten popular terms among thousands that are searched once or twice
+        for (int i = 0; i < 20_000; i++) {
+            String term = random.nextInt(4) == 0 ? "popular " + random.nextInt(10) : "rare " + random.nextInt(5_000);
+            counters.recordSearch(term, now - random.nextInt(50) * MINUTE);
+        }
+
+        List<Map.Entry<String, Long>> top = counters.topSearches(10, now);
+        assertEquals(10, top.size());
+        for (Map.Entry<String, Long> entry : top) {
+            assertTrue(entry.getKey().startsWith("popular "), entry.getKey());
+            // Each popular term is searched about 500 times
+            assertTrue(entry.getValue() >= 400, entry.getKey() + " " + entry.getValue());
+        }
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getValue() >= top.get(i).getValue());
+        }
+    }
+
+    @Test
+    void shouldNeverUnderestimateASearchTerm() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        Random random = new Random(7);
+        long[] counts = new long[1_000];
+        for (int i = 0; i < 50_000; i++) {
+            int term = random.nextInt(counts.length);
+            sketch.add("term " + term, 1);
+            counts[term]++;
+        }
+        for (int term = 0; term < counts.length; term++) {
+            assertTrue(sketch.estimate("term " + term) >= counts[term]);
+        }
+    }
+
+    @Test
+    void shouldHandOverClosedBucketsAndTakeThemBack() {
+        long start = 1_000 * MINUTE;
+        counters.recordBorrow(1L, start);
+        counters.recordBorrow(1L, start + MINUTE);
+        counters.recordSearch("dune", start + 6 * MINUTE);
+        counters.recordBorrow(2L, start + 11 * MINUTE);
+
+        long now = start + 11 * MINUTE;
+        List<TrendingCounters.ClosedBucket> closed = counters.closedBuckets(counters.indexOf(start) - 1, now);
+        assertEquals(2, closed.size());
+        assertEquals(start, closed.get(0).getStartMillis());
+        assertEquals(2L, closed.get(0).getBorrows().get(1L));
+        assertEquals(1L, closed.get(1).getSearches().get("dune"));
+        // The open bucket is not handed over, nor buckets already flushed
+        assertTrue(counters.closedBuckets(counters.indexOf(start), now).stream()
+                .noneMatch(bucket -> bucket.getStartMillis() == start));
+
+        // As after a restart: the rows are added back into a fresh ring
+        TrendingCounters restored = new TrendingCounters(5 * MINUTE, 12, 4, 256, 100);
+        for (TrendingCounters.ClosedBucket bucket : closed) {
+            bucket.getBorrows().forEach((bookId, hits) -> restored.addBorrows(bookId, hits, bucket.getStartMillis()));
+            bucket.getSearches().forEach((term, hits) -> restored.addSearches(term, hits, bucket.getStartMillis()));
+        }
+        assertEquals(2L, restored.topBooks(1, now).get(0).getValue());
+        assertEquals("dune", restored.topSearches(1, now).get(0).getKey());
+    }
+}